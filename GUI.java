@@ -2,6 +2,7 @@ import javax.swing.*; // Imports all Swing components, JFrame, JPanel, JLabel, J
 import java.awt.*; // Imports the Abstract Window Toolkit package, BorderLayout, GridLayout, FlowLayout are used to manage GUI design.layout
 import java.awt.event.ActionEvent; // Imports the ActionEvent class that represents an event triggered by user selecting radio buttons and clicking Jbuttons
 import java.awt.event.ActionListener; // Imports the ActionListener interface that listens and handles user selecting radio buttons and clicking Jbuttons
+import java.util.Enumeration; // Imports the Enumeration interface to go through the strategy radio buttons
 
 /**
  * @author DarrenCYLo
@@ -12,11 +13,15 @@ import java.awt.event.ActionListener; // Imports the ActionListener interface th
 public class GUI extends JFrame 
 {
     private NimGame game; // Instance variable that represents the game of1-2 Nim game logic and game state management (private keyword, NimGame class data type and variable)
+    private NimGamePool gamePool; // Pool that reuses the previous game, players and strategies when a new game is started, created when the first game starts
+    private GameResultStore resultStore; // Store that records every finished game for analysis, opened when the first game finishes
     private JPanel marblePanel; // Panel to show the marbles visually as "●"
     private JLabel turnLabel; // Label to show the current player's turn
     private JLabel marbleCountLabel; // Label to show the current number of marbles
-    private JRadioButton randomStrategyRadio, yourStrategyRadio; // Radio buttons for selecting the computer's strategy
-    private JButton removeOneButton, removeTwoButton, undoButton, saveButton, loadButton, resetButton; // Buttons for functions
+    private ButtonGroup strategyGroup; // Radio buttons for selecting the computer's strategy, one for each strategy in the StrategyRegistry
+    private JButton[] removeButtons; // Buttons to remove marbles, one for each move in the GameConfig (1 marble and 2 marbles by default)
+    private JButton undoButton, saveButton, loadButton, resetButton; // Buttons for functions
+    private Font marbleFont; // Font of the marbles, created when the marbles are first shown
 
     /**
      * Constructor
@@ -32,17 +37,15 @@ public class GUI extends JFrame
         // Top Panel: Strategy Selection
         JPanel topPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10)); // Use FlowLayout to align components in a single row
         JLabel modeLabel = new JLabel("Select Computer Strategy:"); // Label for strategy selection
-        randomStrategyRadio = new JRadioButton("Random Strategy"); // Default selection: Random Strategy
-        yourStrategyRadio = new JRadioButton("Your Strategy"); // Alternative selection: Your Strategy
-
-        ButtonGroup strategyGroup = new ButtonGroup(); // Group the radio buttons so only one can be selected
-        strategyGroup.add(randomStrategyRadio);
-        strategyGroup.add(yourStrategyRadio);
-
-        // Add components to the top panel
+        strategyGroup = new ButtonGroup(); // Group the radio buttons so only one can be selected
         topPanel.add(modeLabel); // Add the label to the top panel
-        topPanel.add(randomStrategyRadio); // Add the "Random Strategy" radio button to the top panel
-        topPanel.add(yourStrategyRadio); // Add the "Your Strategy" radio button to the top panel
+        for (String code : StrategyRegistry.codes()) // One radio button for each strategy, e.g. "Random Strategy" and "Your Strategy"
+        {
+            JRadioButton strategyRadio = new JRadioButton(StrategyRegistry.nameOf(code) + " Strategy");
+            strategyRadio.addActionListener(e -> startGame(code)); // Start a game with the selected strategy
+            strategyGroup.add(strategyRadio);
+            topPanel.add(strategyRadio); // Add the radio button to the top panel
+        }
 
         add(topPanel, BorderLayout.NORTH); // Add the top panel to the north region of the layout
 
@@ -71,16 +74,21 @@ public class GUI extends JFrame
 
         // Bottom Panel: Action Buttons
         JPanel bottomPanel = new JPanel(new GridLayout(2, 4, 5, 5)); // Panel for user action buttons with a grid layout
-        removeOneButton = new JButton("Remove 1 marble"); // Button to remove 1 marble
-        removeTwoButton = new JButton("Remove 2 marbles"); // Button to remove 2 marbles
+        int[] moves = GameConfig.get().getMoves(); // The configured moves, 1 marble and 2 marbles by default
+        removeButtons = new JButton[moves.length];
+        for (int i = 0; i < moves.length; i++)
+        {
+            int marbles = moves[i];
+            removeButtons[i] = new JButton("Remove " + marbles + (marbles == 1 ? " marble" : " marbles")); // Button to remove the number of marbles
+            removeButtons[i].addActionListener(e -> humanMove(marbles));
+            bottomPanel.add(removeButtons[i]);
+        }
         undoButton = new JButton("Undo"); // Button to undo the last move
         saveButton = new JButton("Save"); // Button to save the game
         loadButton = new JButton("Load"); // Button to load the game
         resetButton = new JButton("Reset"); // Button to reset the game
 
         // Add buttons to the bottom panel
-        bottomPanel.add(removeOneButton);
-        bottomPanel.add(removeTwoButton);
         bottomPanel.add(undoButton);
         bottomPanel.add(saveButton);
         bottomPanel.add(loadButton);
@@ -90,19 +98,52 @@ public class GUI extends JFrame
 
         
 
-        // Event Listeners for Strategy Selection
-        randomStrategyRadio.addActionListener(e -> startGame());
-        yourStrategyRadio.addActionListener(e -> startGame());
-
         // Event Listeners for Action Buttons
-        removeOneButton.addActionListener(e -> humanMove(1));
-        removeTwoButton.addActionListener(e -> humanMove(2));
         undoButton.addActionListener(e -> undoMove());
         saveButton.addActionListener(e -> saveGame());
         loadButton.addActionListener(e -> loadGame());
         resetButton.addActionListener(e -> resetGame());
 
         setVisible(true); // Make the GUI visible
+        warmUpStrategies();
+    }
+
+    /**
+     * Warms up the computer strategies, every StrategyPlugin is called even when no warm up moves are set in the GameConfig
+     * The warm-up runs on its own thread so the window is shown while it runs, the strategies cannot be selected until it has finished
+     */
+    private void warmUpStrategies()
+    {
+        int warmUpMoves = GameConfig.get().getWarmUpMoves();
+        if (warmUpMoves > 0) // A warm-up without moves is short, so the radio buttons only wait for a real one
+        {
+            setStrategiesEnabled(false); // No game can start before the warm-up has finished
+        }
+        Thread warmUp = new Thread(() ->
+        {
+            try
+            {
+                StrategyRegistry.warmUp(warmUpMoves);
+            }
+            finally
+            {
+                SwingUtilities.invokeLater(() -> setStrategiesEnabled(true));
+            }
+        }, "strategy-warm-up");
+        warmUp.setDaemon(true);
+        warmUp.start();
+    }
+
+    /**
+     * Strategy radio buttons.
+     * @param enabled True to enable the radio buttons
+     */
+    private void setStrategiesEnabled(boolean enabled)
+    {
+        for (Enumeration<AbstractButton> buttons = strategyGroup.getElements(); buttons.hasMoreElements();)
+        {
+            buttons.nextElement().setEnabled(enabled);
+        }
     }
 
     /**
@@ -110,8 +151,10 @@ public class GUI extends JFrame
      * @param enabled True to enable the buttons
      */
     private void setGameButtonsEnabled(boolean enabled) {
-        removeOneButton.setEnabled(enabled);
-        removeTwoButton.setEnabled(enabled);
+        for (JButton removeButton : removeButtons)
+        {
+            removeButton.setEnabled(enabled);
+        }
         undoButton.setEnabled(enabled);
         saveButton.setEnabled(enabled);
         loadButton.setEnabled(enabled);
@@ -124,17 +167,25 @@ public class GUI extends JFrame
      */
     public static void main(String[] args) 
     {
-        new GUI(); // Create and display the GUI
+        SwingUtilities.invokeLater(GUI::new); // Create and display the GUI on the event dispatch thread, the computer strategies are warmed up before they can be selected
     }
     
     /**
      * Starts the game with the selected strategy.
      * Initializes the NimGame object and updates the GUI to reflect the game's state.
+     * @param strategyCode The code of the selected strategy in the StrategyRegistry.
      */
-    private void startGame() 
+    private void startGame(String strategyCode) 
     {
-        MoveStrategy computerStrategy = randomStrategyRadio.isSelected() ? new RandomStrategy() : new YourStrategy(); // Determine the selected strategy
-        game = new NimGame(new Player("Human", new HumanUserStrategy()), new Player("Computer", computerStrategy)); // Initialize the game
+        if (gamePool == null) // Create the pool when the first game starts, not when the window is shown
+        {
+            gamePool = new NimGamePool();
+        }
+        if (game != null) // Return the previous game to the pool so it can be reused
+        {
+            gamePool.release(game);
+        }
+        game = gamePool.acquire(strategyCode); // Initialize the game with the selected strategy
 
         turnLabel.setText("Turn: " + (game.isHumanTurn() ? "Human Player" : "Computer Player")); // Update the turn label
         marbleCountLabel.setText("Current number of marbles: " + game.getMarbleSize()); // Update the marble count label
@@ -206,8 +257,7 @@ public class GUI extends JFrame
     private void resetGame() 
     {
         // Clear strategy selection to force user to choose again
-        randomStrategyRadio.setSelected(false);
-        yourStrategyRadio.setSelected(false);
+        strategyGroup.clearSelection();
        
         // Reset the UI text
         turnLabel.setText("Turn: ");
@@ -228,10 +278,14 @@ public class GUI extends JFrame
     private void updateMarbleDisplay() 
     {
         marblePanel.removeAll(); // Clear the marble panel
+        if (marbleFont == null)
+        {
+            marbleFont = new Font("Serif", Font.BOLD, 50); // Shared by every marble
+        }
         for (int i = 0; i < game.getMarbleSize(); i++) // Add a marble for each remaining marble
         {
             JLabel marble = new JLabel("●"); // Unicode for a marble
-            marble.setFont(new Font("Serif", Font.BOLD, 50)); // Set the font size
+            marble.setFont(marbleFont); // Set the font size
             marble.setForeground(Color.BLACK); // Set the marble color
             marblePanel.add(marble);
         }
@@ -240,6 +294,45 @@ public class GUI extends JFrame
         marbleCountLabel.setText("Current number of marbles: " + game.getMarbleSize()); // Update the marble count label
     }
 
+    /**
+     * Records the finished game in the game result store set in the GameConfig ("NimGameResults" by default)
+     */
+    private void recordResult()
+    {
+        if (!GameConfig.get().isRecordingResults()) // Persistence is set to "none"
+        {
+            return;
+        }
+        try
+        {
+            if (resultStore == null) // Open the store the first time a game finishes
+            {
+                resultStore = new GameResultStore(GameConfig.get().getResultsDirectory());
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> closeResultStore())); // Write the buffered results when the GUI exits
+            }
+            resultStore.record(game);
+        }
+        catch (Exception e)
+        {
+            System.out.println("An error occurred while recording the game result");
+        }
+    }
+
+    /**
+     * Writes the buffered results and closes the game result store
+     */
+    private void closeResultStore()
+    {
+        try
+        {
+            resultStore.close();
+        }
+        catch (Exception e)
+        {
+            System.out.println("An error occurred while closing the game results");
+        }
+    }
+
     /**
      * Checks the game's status if the game is still ongoing update the GUI and determines if a winner has been annouced
      * @param message A message describing the last move.
@@ -249,6 +342,7 @@ public class GUI extends JFrame
         if (game.checkWinner()) // Check if the game has ended
         { 
             String winner = game.isHumanTurn() ? "Computer Player" : "Human Player"; // Determine the winner
+            recordResult(); // Keep the result for analysis
             JOptionPane.showMessageDialog(this, winner + " wins!", "Game Over", JOptionPane.INFORMATION_MESSAGE); // Show the winner
         } else if (!game.isHumanTurn()) // If it's the computer's turn, make a move
         { 
@@ -0,0 +1,418 @@
+import java.io.BufferedReader; // Imports the BufferedReader class to read saved games one line at a time
+import java.io.File; // Imports the File class for saved games and directories of saved games
+import java.io.FileReader; // Imports the FileReader class to read saved games
+import java.io.IOException; // Imports the IOException class thrown when a saved game cannot be read
+import java.io.UncheckedIOException; // Imports the UncheckedIOException class to pass IOException out of the analysis of a file
+import java.util.ArrayList; // Imports the ArrayList class to list the files that were skipped
+import java.util.Arrays; // Imports the Arrays class to list and grow arrays
+import java.util.Iterator; // Imports the Iterator interface to walk through game states
+import java.util.List; // Imports the List interface
+import java.util.function.Consumer; // Imports the Consumer interface to report blunders while a game is analysed
+
+/**
+ * @author DarrenCYLo
+ * @version 19/10/2026
+ * GameAnalyzer class walks through the moves of a game of 1-2 Nim and flags every blunder: a move that turned a won position into a lost one
+ * Games come from the NimGame history (the undo stack) or from files written by NimGame.saveGame, one game state per line, e.g. "12,Human"
+ * Only the previous game state is kept while a game is analysed, so memory does not grow with the length of a game,
+ * and a directory of saved games is analysed in parallel, files that are not saved games are skipped and listed in the summary
+ */
+public class GameAnalyzer
+{
+    public static final int MAX_MARBLES = 1 << 20; // Largest number of marbles accepted in a game state, keeps the solved positions small
+    private int[] moves; // Numbers of marbles that can be removed in one move, smallest first
+    private volatile boolean[] winning; // True if the player to move wins with best play, by number of marbles
+
+    /**
+     * Constructor to create an analyzer for the move set in a GameConfig
+     * @param "config" the game set up
+     */
+    public GameAnalyzer(GameConfig config)
+    {
+        this.moves = config.getMoves();
+        this.winning = new boolean[0];
+        isWinning(Math.min(config.getMaxPile(), MAX_MARBLES)); // Solve every number of marbles a new game can start with, up to MAX_MARBLES
+    }
+
+    /**
+     * @param "marbles" a number of marbles
+     * @return true if the player to move wins with best play
+     * @throws IllegalArgumentException if the number of marbles is below 0 or above MAX_MARBLES
+     */
+    public boolean isWinning(int marbles)
+    {
+        if (marbles < 0 || marbles > MAX_MARBLES)
+        {
+            throw new IllegalArgumentException("Invalid number of marbles: " + marbles);
+        }
+        boolean[] table = winning;
+        if (marbles >= table.length) // Loaded games can have more marbles than the configured maximum
+        {
+            table = solve(marbles);
+        }
+        return table[marbles];
+    }
+
+    /**
+     * Solves every number of marbles up to the given number, a position is won if one move leaves the other player in a lost position
+     * @return the solved positions
+     */
+    private synchronized boolean[] solve(int marbles)
+    {
+        boolean[] table = winning;
+        if (marbles < table.length)
+        {
+            return table; // Another thread solved it already
+        }
+        int from = table.length;
+        table = Arrays.copyOf(table, Math.max(marbles + 1, table.length * 2));
+        for (int pile = Math.max(1, from); pile < table.length; pile++)
+        {
+            for (int move : moves)
+            {
+                if (move <= pile && !table[pile - move])
+                {
+                    table[pile] = true;
+                    break;
+                }
+            }
+        }
+        winning = table;
+        return table;
+    }
+
+    /**
+     * @return true if the number of marbles can be removed in one move
+     */
+    private boolean isMove(int removed)
+    {
+        for (int move : moves)
+        {
+            if (move == removed)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Analyses the game of a NimGame from its history
+     * @param "game" the game of 1-2 Nim, finished or not
+     * @param "blunders" receives every blunder, in the order they were played
+     * @return the summary of the game
+     */
+    public Summary analyze(NimGame game, Consumer<Blunder> blunders)
+    {
+        return analyze(game.getHistory().iterator(), blunders);
+    }
+
+    /**
+     * Analyses a game saved by NimGame.saveGame
+     * @param "file" the saved game
+     * @param "blunders" receives every blunder, in the order they were played
+     * @return the summary of the game
+     * @throws IOException if the file cannot be read
+     */
+    public Summary analyze(File file, Consumer<Blunder> blunders) throws IOException
+    {
+        try (BufferedReader reader = new BufferedReader(new FileReader(file)))
+        {
+            return analyze(reader.lines().iterator(), blunders);
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Analyses a game from its game states, each move is the change between two game states that follow each other
+     * @param "states" the game states, e.g. "12,Human", the player named is the player to move
+     * @param "blunders" receives every blunder, in the order they were played
+     * @return the summary of the game
+     * @throws IllegalArgumentException if a game state cannot be read, its number of marbles is below 0 or above MAX_MARBLES,
+     * or it does not follow from the previous game state by a configured move of the other player
+     */
+    public Summary analyze(Iterator<String> states, Consumer<Blunder> blunders)
+    {
+        Summary summary = new Summary();
+        summary.games = 1;
+        int previousMarbles = -1;
+        boolean previousHuman = false;
+        int moveNumber = 0;
+        while (states.hasNext())
+        {
+            String state = states.next();
+            if (state.isEmpty())
+            {
+                continue;
+            }
+            int comma = state.indexOf(',');
+            if (comma < 0)
+            {
+                throw new IllegalArgumentException("Invalid game state: " + state);
+            }
+            int marbles = Integer.parseInt(state.substring(0, comma));
+            if (marbles < 0 || marbles > MAX_MARBLES)
+            {
+                throw new IllegalArgumentException("Invalid number of marbles: " + state);
+            }
+            String player = state.substring(comma + 1);
+            if (!player.equals("Human") && !player.equals("Computer"))
+            {
+                throw new IllegalArgumentException("Invalid player: " + state);
+            }
+            boolean human = player.equals("Human");
+            if (previousMarbles >= 0) // The player of the previous game state moved
+            {
+                if (human == previousHuman || !isMove(previousMarbles - marbles)) // The players take turns and remove a configured number of marbles
+                {
+                    throw new IllegalArgumentException("Invalid move from " + previousMarbles + "," + (previousHuman ? "Human" : "Computer") + " to " + state);
+                }
+                moveNumber++;
+                boolean wasWinning = isWinning(previousMarbles);
+                boolean blunder = wasWinning && isWinning(marbles); // Left the other player in a won position
+                summary.count(previousHuman, wasWinning, blunder);
+                if (blunder)
+                {
+                    blunders.accept(new Blunder(moveNumber, previousHuman, previousMarbles, previousMarbles - marbles));
+                }
+            }
+            previousMarbles = marbles;
+            previousHuman = human;
+        }
+        return summary;
+    }
+
+    /**
+     * Analyses every saved game in a directory in parallel, only the summaries are kept
+     * A file that cannot be read or is not a saved game is skipped, the skipped files are listed in the summary
+     * @param "directory" the directory of saved games
+     * @return the summary of all the games
+     * @throws IOException if the directory cannot be listed
+     */
+    public Summary analyzeAll(File directory) throws IOException
+    {
+        File[] files = directory.listFiles(File::isFile);
+        if (files == null)
+        {
+            throw new IOException(directory + " is not a directory");
+        }
+        return Arrays.stream(files).parallel()
+            .map(file ->
+            {
+                try
+                {
+                    return analyze(file, blunder -> { }); // The blunders of one game are not needed in the total
+                }
+                catch (IOException | IllegalArgumentException e) // Skip the file so one bad file does not stop the analysis of the others
+                {
+                    Summary skipped = new Summary();
+                    skipped.skippedFiles.add(file.getName() + ": " + e.getMessage());
+                    return skipped;
+                }
+            })
+            .reduce(Summary::merge) // Each summary is only used by one thread, so merging into it is safe
+            .orElse(new Summary());
+    }
+
+    /**
+     * Blunder class describes one move that turned a won position into a lost one
+     */
+    public static class Blunder
+    {
+        private final int moveNumber; // Number of the move in the game, the first move is 1
+        private final boolean human; // True if the human player made the move
+        private final int marbles; // Number of marbles before the move
+        private final int removed; // Number of marbles removed
+
+        private Blunder(int moveNumber, boolean human, int marbles, int removed)
+        {
+            this.moveNumber = moveNumber;
+            this.human = human;
+            this.marbles = marbles;
+            this.removed = removed;
+        }
+
+        /**
+         * Getter methods
+         * @return the number of the move in the game, the first move is 1
+         */
+        public int getMoveNumber()
+        {
+            return moveNumber;
+        }
+
+        /**
+         * Getter methods
+         * @return true if the human player made the move
+         */
+        public boolean isHuman()
+        {
+            return human;
+        }
+
+        /**
+         * Getter methods
+         * @return the number of marbles before the move
+         */
+        public int getMarbles()
+        {
+            return marbles;
+        }
+
+        /**
+         * Getter methods
+         * @return the number of marbles removed
+         */
+        public int getRemoved()
+        {
+            return removed;
+        }
+
+        /**
+         * @return the blunder as text, e.g. "Move 3: Human removed 2 of 7 marbles and gave away a won position"
+         */
+        @Override
+        public String toString()
+        {
+            return "Move " + moveNumber + ": " + (human ? "Human" : "Computer") + " removed " + removed + " of " + marbles + " marbles and gave away a won position";
+        }
+    }
+
+    /**
+     * Summary class counts the moves, the moves made from won positions and the blunders of the human player and the computer player
+     */
+    public static class Summary
+    {
+        private long games; // Number of games
+        private long[] moves = new long[2]; // Number of moves, index 0 for the computer player and 1 for the human player
+        private long[] winningMoves = new long[2]; // Number of moves made from a won position
+        private long[] blunders = new long[2]; // Number of moves that gave away a won position
+        private List<String> skippedFiles = new ArrayList<>(); // Files that were skipped because they are not saved games, with the reason
+
+        private Summary()
+        {
+        }
+
+        /**
+         * Counts one move
+         */
+        private void count(boolean human, boolean wasWinning, boolean blunder)
+        {
+            int player = human ? 1 : 0;
+            moves[player]++;
+            if (wasWinning)
+            {
+                winningMoves[player]++;
+            }
+            if (blunder)
+            {
+                blunders[player]++;
+            }
+        }
+
+        /**
+         * Adds the counts of another summary to these counts
+         * @return these counts
+         */
+        private Summary merge(Summary other)
+        {
+            games += other.games;
+            skippedFiles.addAll(other.skippedFiles);
+            for (int player = 0; player < 2; player++)
+            {
+                moves[player] += other.moves[player];
+                winningMoves[player] += other.winningMoves[player];
+                blunders[player] += other.blunders[player];
+            }
+            return this;
+        }
+
+        /**
+         * Getter methods
+         * @return the number of games analysed
+         */
+        public long getGames()
+        {
+            return games;
+        }
+
+        /**
+         * Getter methods
+         * @return the files that were skipped because they could not be read or are not saved games, each with the reason
+         */
+        public List<String> getSkippedFiles()
+        {
+            return skippedFiles;
+        }
+
+        /**
+         * Getter methods
+         * @return the number of moves of the human player or computer player
+         */
+        public long getMoves(boolean human)
+        {
+            return moves[human ? 1 : 0];
+        }
+
+        /**
+         * Getter methods
+         * @return the number of blunders of the human player or computer player
+         */
+        public long getBlunders(boolean human)
+        {
+            return blunders[human ? 1 : 0];
+        }
+
+        /**
+         * @return the fraction of moves made from a won position that kept the position won, 1 if the player never had a won position
+         */
+        public double getAccuracy(boolean human)
+        {
+            int player = human ? 1 : 0;
+            return winningMoves[player] == 0 ? 1 : 1 - (double) blunders[player] / winningMoves[player];
+        }
+
+        @Override
+        public String toString()
+        {
+            StringBuilder text = new StringBuilder();
+            for (boolean human : new boolean[] {true, false})
+            {
+                text.append(String.format("%-8s %10d moves %8d blunders, accuracy %6.2f%%%n", human ? "Human" : "Computer", getMoves(human), getBlunders(human), 100 * getAccuracy(human)));
+            }
+            if (!skippedFiles.isEmpty())
+            {
+                text.append("Skipped ").append(skippedFiles.size()).append(" files that are not saved games:").append(System.lineSeparator());
+                for (String skipped : skippedFiles)
+                {
+                    text.append("  ").append(skipped).append(System.lineSeparator());
+                }
+            }
+            return text.toString();
+        }
+    }
+
+    /**
+     * Method to analyse a saved game (blunders and summary) or a directory of saved games (summary of all games)
+     * @param args the saved game or directory, the save file in the GameConfig if not given
+     */
+    public static void main(String[] args) throws IOException
+    {
+        File file = new File(args.length > 0 ? args[0] : GameConfig.get().getSaveFile());
+        GameAnalyzer analyzer = new GameAnalyzer(GameConfig.get());
+        if (file.isDirectory())
+        {
+            long start = System.nanoTime();
+            Summary summary = analyzer.analyzeAll(file);
+            System.out.print(summary);
+            System.out.println("Analysed " + summary.getGames() + " games in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        }
+        else
+        {
+            System.out.print(analyzer.analyze(file, System.out::println));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,280 @@
+import java.nio.ByteBuffer; // Imports the ByteBuffer class for the encoded messages
+import java.util.List; // Imports the List interface
+import java.util.concurrent.CopyOnWriteArrayList; // Imports the CopyOnWriteArrayList class so spectators can join and leave while messages are sent
+import java.util.concurrent.ExecutorService; // Imports the ExecutorService interface for the thread that wakes waiting spectators
+import java.util.concurrent.Executors; // Imports the Executors class to create the thread that wakes waiting spectators
+import java.util.concurrent.TimeUnit; // Imports the TimeUnit enum
+import java.util.concurrent.atomic.AtomicBoolean; // Imports the AtomicBoolean class so only one wake up is waiting at a time
+import java.util.concurrent.atomic.AtomicInteger; // Imports the AtomicInteger class to count the waiting spectators
+import java.util.concurrent.atomic.AtomicReference; // Imports the AtomicReference class for the latest message
+import java.util.concurrent.atomic.AtomicReferenceArray; // Imports the AtomicReferenceArray class for the ring of recent messages
+
+/**
+ * @author DarrenCYLo
+ * @version 19/10/2026
+ * GameBroadcaster class sends the changes of a running game of 1-2 Nim to any number of spectators
+ * Every change is encoded once into a small read-only message and stored in a ring of recent messages, each spectator reads the ring itself,
+ * so a move costs the same whether one or thousands of spectators watch, and a slow spectator never slows down the game
+ * A spectator that falls more than the ring size behind receives one SNAPSHOT message with the latest game state instead of the messages it missed
+ * Releasing the game to a NimGamePool stops the broadcast, the pool removes the listener of the broadcaster
+ *
+ * A message is 24 bytes: byte 0 the message type, bytes 4-7 the number of marbles removed by a MOVE, bytes 8-15 the message sequence number (the version of the change, see NimGame.Snapshot),
+ * bytes 16-23 the game state (see NimGame.getState()), read them with the static methods of this class
+ */
+public class GameBroadcaster
+{
+    public static final byte MOVE = 1; // A move was played
+    public static final byte UNDO = 2; // A move was undone
+    public static final byte NEW_GAME = 3; // A new game was started or a saved game was loaded
+    public static final byte SNAPSHOT = 4; // The latest game state, sent when a spectator joins or has fallen behind
+    private static final int MESSAGE_SIZE = 24;
+
+    private NimGame game; // The game that is watched
+    private AtomicReferenceArray<ByteBuffer> ring; // Recent messages, the message with sequence number n is at index n % size
+    private AtomicReference<ByteBuffer> latest; // The message with the highest sequence number
+    private List<Subscription> subscriptions = new CopyOnWriteArrayList<>(); // The spectators
+    private NimGame.StateListener listener = this::publish; // Listens to the changes of the game
+    private Object signal = new Object(); // Waiting spectators wait on it
+    private AtomicInteger waiting = new AtomicInteger(); // Number of spectators waiting for a message
+    private AtomicBoolean wakePending = new AtomicBoolean(); // True if a wake up of the waiting spectators is queued
+    private ExecutorService waker; // Wakes waiting spectators, so the thread that changed the game does not
+
+    /**
+     * Constructor to start sending the changes of a game
+     * @param "game" the game to watch
+     * @param "queueSize" the number of recent messages kept, a spectator that falls further behind receives the latest game state instead
+     */
+    public GameBroadcaster(NimGame game, int queueSize)
+    {
+        if (queueSize < 1)
+        {
+            throw new IllegalArgumentException("The queue size must be at least 1");
+        }
+        this.game = game;
+        this.ring = new AtomicReferenceArray<>(queueSize);
+        this.waker = Executors.newSingleThreadExecutor(task ->
+        {
+            Thread thread = new Thread(task, "broadcaster-wake");
+            thread.setDaemon(true);
+            return thread;
+        });
+        game.addStateListener(listener); // Listen first, so no change after the snapshot below is missed
+        NimGame.Snapshot snapshot = game.getSnapshot();
+        this.latest = new AtomicReference<>(encode(SNAPSHOT, 0, snapshot.getVersion(), snapshot.getState()));
+    }
+
+    /**
+     * Adds a spectator, its first message is a SNAPSHOT of the current game state
+     * @return the subscription the spectator reads its messages from
+     */
+    public Subscription subscribe()
+    {
+        Subscription subscription = new Subscription(latest.get());
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Getter methods
+     * @return the number of spectators
+     */
+    public int getSubscriberCount()
+    {
+        return subscriptions.size();
+    }
+
+    /**
+     * Stops watching the game, the spectators receive no more messages
+     */
+    public void close()
+    {
+        game.removeStateListener(listener);
+        subscriptions.clear();
+        waker.shutdown();
+    }
+
+    /**
+     * Encodes a change of the game once and stores it in the ring, the spectators read it from there
+     * Changes made by different threads at the same time can arrive in any order, the sequence number puts each one in its place
+     */
+    private void publish(NimGame.Change change, int removed, long state, long version)
+    {
+        byte type = change == NimGame.Change.MOVE ? MOVE : change == NimGame.Change.UNDO ? UNDO : NEW_GAME;
+        ByteBuffer message = encode(type, removed, version, state);
+        int index = (int) (version % ring.length());
+        ByteBuffer stored;
+        do // Never replace a newer message that already uses the same place
+        {
+            stored = ring.get(index);
+        }
+        while ((stored == null || sequenceOf(stored) < version) && !ring.compareAndSet(index, stored, message));
+        ByteBuffer newest;
+        do
+        {
+            newest = latest.get();
+        }
+        while (sequenceOf(newest) < version && !latest.compareAndSet(newest, message));
+
+        if (waiting.get() > 0 && wakePending.compareAndSet(false, true)) // Only wake spectators if one is waiting
+        {
+            waker.execute(() ->
+            {
+                wakePending.set(false);
+                synchronized (signal)
+                {
+                    signal.notifyAll();
+                }
+            });
+        }
+    }
+
+    /**
+     * Encodes a message
+     * @return the read-only message
+     */
+    private static ByteBuffer encode(byte type, int removed, long sequence, long state)
+    {
+        ByteBuffer message = ByteBuffer.allocate(MESSAGE_SIZE);
+        message.put(0, type).putInt(4, removed).putLong(8, sequence).putLong(16, state);
+        return message.asReadOnlyBuffer();
+    }
+
+    /**
+     * @param "message" a message
+     * @return the message type: MOVE, UNDO, NEW_GAME or SNAPSHOT
+     */
+    public static byte typeOf(ByteBuffer message)
+    {
+        return message.get(0);
+    }
+
+    /**
+     * @param "message" a MOVE message
+     * @return the number of marbles removed
+     */
+    public static int removedOf(ByteBuffer message)
+    {
+        return message.getInt(4);
+    }
+
+    /**
+     * @param "message" a message
+     * @return the sequence number of the message, a spectator that sees a gap has missed messages
+     */
+    public static long sequenceOf(ByteBuffer message)
+    {
+        return message.getLong(8);
+    }
+
+    /**
+     * @param "message" a message
+     * @return the game state after the change, read it with NimGame.marbleSizeOf, isHumanTurnOf and moveNumberOf
+     */
+    public static long stateOf(ByteBuffer message)
+    {
+        return message.getLong(16);
+    }
+
+    /**
+     * Subscription class reads the messages for one spectator from the ring, it must be read by one thread at a time
+     */
+    public class Subscription
+    {
+        private ByteBuffer first; // The SNAPSHOT message sent when the spectator joined, null once it was read
+        private long next; // Sequence number of the next message for the spectator
+        private volatile long dropped; // Number of messages replaced by a SNAPSHOT because the spectator had fallen behind
+
+        private Subscription(ByteBuffer joined)
+        {
+            this.first = encode(SNAPSHOT, 0, sequenceOf(joined), stateOf(joined));
+            this.next = sequenceOf(joined) + 1;
+        }
+
+        /**
+         * @return the next message, a view for this spectator only so its position can be moved, or null if there is none
+         */
+        public ByteBuffer poll()
+        {
+            if (first != null)
+            {
+                ByteBuffer message = first;
+                first = null;
+                return message;
+            }
+            ByteBuffer stored = ring.get((int) (next % ring.length()));
+            if (stored != null && sequenceOf(stored) == next)
+            {
+                next++;
+                return stored.duplicate();
+            }
+            ByteBuffer newest = latest.get();
+            if (stored != null && sequenceOf(stored) > sequenceOf(newest))
+            {
+                newest = stored;
+            }
+            if ((stored != null && sequenceOf(stored) > next) || sequenceOf(newest) - next >= ring.length()) // The next message was replaced, the spectator has fallen behind
+            {
+                dropped += sequenceOf(newest) - next + 1; // Every message up to the latest one is replaced by the SNAPSHOT
+                next = sequenceOf(newest) + 1;
+                return encode(SNAPSHOT, 0, sequenceOf(newest), stateOf(newest));
+            }
+            return null;
+        }
+
+        /**
+         * Waits for the next message
+         * @param "timeout" how long to wait
+         * @param "unit" the unit of the timeout
+         * @return the next message, or null if there was none in time
+         * @throws InterruptedException if the thread is interrupted while waiting
+         */
+        public ByteBuffer poll(long timeout, TimeUnit unit) throws InterruptedException
+        {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            ByteBuffer message = poll();
+            while (message == null)
+            {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0)
+                {
+                    return null;
+                }
+                waiting.incrementAndGet(); // Counted before polling again, so a message published now wakes this spectator
+                try
+                {
+                    synchronized (signal)
+                    {
+                        message = poll();
+                        if (message == null)
+                        {
+                            TimeUnit.NANOSECONDS.timedWait(signal, remaining);
+                            message = poll();
+                        }
+                    }
+                }
+                finally
+                {
+                    waiting.decrementAndGet();
+                }
+            }
+            return message;
+        }
+
+        /**
+         * Getter methods
+         * @return the number of messages this spectator missed because it had fallen behind
+         */
+        public long getDroppedCount()
+        {
+            return dropped;
+        }
+
+        /**
+         * Stops this spectator from receiving messages
+         */
+        public void cancel()
+        {
+            subscriptions.remove(this);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+import java.io.File; // Imports the File class to find the configuration file
+import java.io.FileReader; // Imports the FileReader class to read the configuration file
+import java.util.Arrays; // Imports the Arrays class to copy and sort the move set
+import java.util.Properties; // Imports the Properties class to parse the configuration file
+import java.util.Random; // Imports the Random class for random generation
+import java.util.concurrent.atomic.AtomicLong; // Imports the AtomicLong class to give every Random its own seed
+
+/**
+ * @author DarrenCYLo
+ * @version 19/10/2026
+ * GameConfig class holds the set up of the game of 1-2 Nim (number of marbles, move set, first player, seed, computer strategy, where results are kept, tablebase file and strategy warm up)
+ * The configuration is read once at startup from "nim.properties" (or the file given by -Dnim.config) and from -Dnim.* system properties, and is shared by every game
+ * GameConfig objects cannot be changed after they are created
+ */
+public class GameConfig
+{
+    /**
+     * Who plays first in a new game of 1-2 Nim
+     */
+    public enum FirstPlayer
+    {
+        RANDOM, HUMAN, COMPUTER
+    }
+
+    private final int minPile; // Minimum number of marbles at the start of a game
+    private final int maxPile; // Maximum number of marbles at the start of a game
+    private final int[] moves; // Numbers of marbles a player can remove in one move, smallest first
+    private final FirstPlayer firstPlayer; // Who plays first
+    private final Long seed; // Seed for every Random, null for a different game every time
+    private final String strategy; // Code of the computer strategy used when none is selected
+    private final String persistence; // "columnar" to record finished games in a GameResultStore, "none" to not record them
+    private final File resultsDirectory; // Directory of the GameResultStore
+    private final String saveFile; // File used by save and load
+    private final File tablebaseFile; // Tablebase file written by TablebaseGenerator and read by TablebaseStrategy
+    private final int warmUpMoves; // Number of moves each strategy plays at startup before the first game, 0 for no warm up
+    private final AtomicLong randomCount = new AtomicLong(); // Number of Random objects created, mixed into the seed so every Random is different
+
+    /**
+     * Holds the configuration read at startup, the file is only read the first time get() is called
+     */
+    private static class Holder
+    {
+        private static final GameConfig CONFIG = load();
+    }
+
+    /**
+     * Constructor to read the configuration from properties, missing properties use the original game of 1-2 Nim rules
+     * @param "properties" the configuration properties (keys start with "nim.")
+     * @throws IllegalArgumentException if a property has an invalid value
+     */
+    public GameConfig(Properties properties)
+    {
+        this.minPile = Integer.parseInt(properties.getProperty("nim.pile.min", "5"));
+        this.maxPile = Integer.parseInt(properties.getProperty("nim.pile.max", "20"));
+        if (minPile < 1 || maxPile < minPile)
+        {
+            throw new IllegalArgumentException("Invalid pile range: " + minPile + " to " + maxPile);
+        }
+
+        String[] moveValues = properties.getProperty("nim.moves", "1,2").split(",");
+        this.moves = new int[moveValues.length];
+        for (int i = 0; i < moveValues.length; i++)
+        {
+            moves[i] = Integer.parseInt(moveValues[i].trim());
+        }
+        Arrays.sort(moves);
+        if (moves[0] != 1) // Removing 1 marble must always be possible so a game can always be finished
+        {
+            throw new IllegalArgumentException("The move set must contain 1: " + Arrays.toString(moves));
+        }
+
+        this.firstPlayer = FirstPlayer.valueOf(properties.getProperty("nim.firstPlayer", "random").toUpperCase());
+        String seedValue = properties.getProperty("nim.seed", "");
+        this.seed = seedValue.isEmpty() ? null : Long.valueOf(seedValue);
+        this.strategy = properties.getProperty("nim.strategy", "R").toUpperCase();
+        this.persistence = properties.getProperty("nim.persistence", "columnar").toLowerCase();
+        if (!persistence.equals("columnar") && !persistence.equals("none"))
+        {
+            throw new IllegalArgumentException("Unknown persistence: " + persistence);
+        }
+        this.resultsDirectory = new File(properties.getProperty("nim.results.dir", "NimGameResults"));
+        this.saveFile = properties.getProperty("nim.save.file", "NimGameSave.txt");
+        this.tablebaseFile = new File(properties.getProperty("nim.tablebase.file", "NimTablebase.bin"));
+        this.warmUpMoves = Integer.parseInt(properties.getProperty("nim.warmup.moves", "0"));
+    }
+
+    /**
+     * Getter methods
+     * @return the configuration read at startup, shared by every game of 1-2 Nim
+     */
+    public static GameConfig get()
+    {
+        return Holder.CONFIG;
+    }
+
+    /**
+     * Reads the configuration file and the -Dnim.* system properties, system properties replace values in the file
+     * @return the configuration
+     */
+    private static GameConfig load()
+    {
+        Properties properties = new Properties();
+        File file = new File(System.getProperty("nim.config", "nim.properties"));
+        if (file.exists())
+        {
+            try (FileReader reader = new FileReader(file))
+            {
+                properties.load(reader);
+            }
+            catch (Exception e)
+            {
+                System.out.println("An error occurred while reading the configuration " + file);
+            }
+        }
+        for (String key : System.getProperties().stringPropertyNames())
+        {
+            if (key.startsWith("nim."))
+            {
+                properties.setProperty(key, System.getProperty(key));
+            }
+        }
+        return new GameConfig(properties);
+    }
+
+    /**
+     * Getter methods
+     * @return the minimum number of marbles at the start of a game
+     */
+    public int getMinPile()
+    {
+        return minPile;
+    }
+
+    /**
+     * Getter methods
+     * @return the maximum number of marbles at the start of a game
+     */
+    public int getMaxPile()
+    {
+        return maxPile;
+    }
+
+    /**
+     * Getter methods
+     * @return a copy of the numbers of marbles a player can remove in one move, smallest first
+     */
+    public int[] getMoves()
+    {
+        return moves.clone();
+    }
+
+    /**
+     * @param "move" a number of marbles
+     * @return true if the number of marbles can be removed in one move
+     */
+    public boolean isValidMove(int move)
+    {
+        return Arrays.binarySearch(moves, move) >= 0;
+    }
+
+    /**
+     * @return the move set as text for messages, e.g. "1 or 2"
+     */
+    public String describeMoves()
+    {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < moves.length; i++)
+        {
+            if (i > 0)
+            {
+                text.append(i == moves.length - 1 ? " or " : ", ");
+            }
+            text.append(moves[i]);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Getter methods
+     * @return who plays first
+     */
+    public FirstPlayer getFirstPlayer()
+    {
+        return firstPlayer;
+    }
+
+    /**
+     * Getter methods
+     * @return the code of the computer strategy used when none is selected
+     */
+    public String getStrategy()
+    {
+        return strategy;
+    }
+
+    /**
+     * @return true if finished games are recorded in a GameResultStore
+     */
+    public boolean isRecordingResults()
+    {
+        return persistence.equals("columnar");
+    }
+
+    /**
+     * Getter methods
+     * @return the directory of the GameResultStore
+     */
+    public File getResultsDirectory()
+    {
+        return resultsDirectory;
+    }
+
+    /**
+     * Getter methods
+     * @return the file used by save and load
+     */
+    public String getSaveFile()
+    {
+        return saveFile;
+    }
+
+    /**
+     * Getter methods
+     * @return the tablebase file written by TablebaseGenerator and read by TablebaseStrategy
+     */
+    public File getTablebaseFile()
+    {
+        return tablebaseFile;
+    }
+
+    /**
+     * Getter methods
+     * @return the number of moves each strategy plays at startup before the first game, 0 for no warm up
+     */
+    public int getWarmUpMoves()
+    {
+        return warmUpMoves;
+    }
+
+    /**
+     * Creates a Random object, with a seed every run creates the same sequence of Random objects so games can be replayed
+     * @return a new Random object
+     */
+    public Random newRandom()
+    {
+        if (seed == null)
+        {
+            return new Random();
+        }
+        return new Random(seed + randomCount.getAndIncrement() * 0x9E3779B97F4A7C15L); // Spread the seeds so the Random objects are not related
+    }
+}
\ No newline at end of file
@@ -0,0 +1,518 @@
+import java.io.BufferedReader; // Imports the BufferedReader class to read the strategy names file
+import java.io.Closeable; // Imports the Closeable interface so the store can be closed like a file
+import java.io.File; // Imports the File class for the directory and the column files
+import java.io.FileReader; // Imports the FileReader class to read the strategy names file
+import java.io.FileWriter; // Imports the FileWriter class to append new strategy names
+import java.io.IOException; // Imports the IOException class thrown when a column file cannot be read or written
+import java.io.UncheckedIOException; // Imports the UncheckedIOException class to pass IOException out of the parallel scan
+import java.nio.ByteBuffer; // Imports the ByteBuffer class to buffer the rows before they are written
+import java.nio.MappedByteBuffer; // Imports the MappedByteBuffer class to read the column files without copying them
+import java.nio.channels.FileChannel; // Imports the FileChannel class to append to and memory-map the column files
+import java.nio.channels.FileLock; // Imports the FileLock class so several processes can write to the same store
+import java.nio.file.StandardOpenOption; // Imports the StandardOpenOption enum to open the column files
+import java.util.ArrayList; // Imports the ArrayList class to store the strategy names
+import java.util.Arrays; // Imports the Arrays class to grow the counts
+import java.util.List; // Imports the List interface
+import java.util.Map; // Imports the Map interface
+import java.util.TreeMap; // Imports the TreeMap class to count unusual initial numbers of marbles in order
+import java.util.concurrent.ConcurrentHashMap; // Imports the ConcurrentHashMap class to share one lock object per store directory in a JVM
+import java.util.stream.IntStream; // Imports the IntStream class to scan the column files in parallel
+
+/**
+ * @author DarrenCYLo
+ * @version 19/10/2026
+ * GameResultStore class records every finished game of 1-2 Nim in an append-only columnar store for analysis
+ * Each column (strategies, initial number of marbles, first player, winner, number of moves and duration) is kept in its own file of fixed-width values,
+ * so a query only memory-maps the columns it needs and scans them in parallel
+ * Several stores, in the same process or in different processes, can write to the same directory: every write of rows or of a new strategy name
+ * holds a lock on the lock file of the directory and re-reads the end of the column files and the strategy names first
+ */
+public class GameResultStore implements Closeable
+{
+    private static final String[] COLUMN_NAMES = {"human_strategy", "computer_strategy", "initial_pile", "first_mover", "winner", "move_count", "duration"}; // One file per column
+    private static final int[] COLUMN_WIDTHS = {1, 1, 4, 1, 1, 4, 8}; // Number of bytes per value of each column
+    private static final int HUMAN_STRATEGY = 0, COMPUTER_STRATEGY = 1, INITIAL_PILE = 2, FIRST_MOVER = 3, WINNER = 4, MOVE_COUNT = 5, DURATION = 6; // Column indexes
+    private static final String STRATEGIES_FILE = "strategies.txt"; // Strategy names, the line number is the id stored in the strategy columns
+    private static final String LOCK_FILE = "store.lock"; // Locked by the process that writes to the store
+    private static final int MAX_STRATEGIES = 256; // Strategy ids are stored in 1 byte
+    private static final int BUFFERED_ROWS = 4096; // Number of rows kept in memory before they are written to the column files
+    private static final int SCAN_CHUNK_ROWS = 1 << 26; // Number of rows memory-mapped at once, keeps every mapping below 2 GB
+    private static final Map<String, Object> DIRECTORY_LOCKS = new ConcurrentHashMap<>(); // One lock object per store directory, a file lock is held by the whole JVM so stores in the same JVM take turns here first
+
+    private File directory; // Directory that contains the column files
+    private FileChannel[] columns; // Open column files, new rows are written at the end found while holding the lock
+    private FileChannel lockFile; // Open lock file of the directory
+    private Object directoryLock; // Lock object of the directory in this JVM
+    private ByteBuffer[] buffers; // Rows that are not written to the column files yet
+    private List<String> strategyNames; // Strategy names, the index is the id stored in the strategy columns
+    private long storedRows; // Number of rows in the column files when they were last written or opened, other stores may have added rows since
+    private int bufferedRows; // Number of rows in the buffers
+
+    /**
+     * Constructor to open the store in a directory, creating the directory and the column files if they do not exist
+     * @param "directory" the directory that contains the column files
+     * @throws IOException if the column files cannot be opened
+     */
+    public GameResultStore(File directory) throws IOException
+    {
+        this.directory = directory;
+        directory.mkdirs(); // Create the directory the first time the store is used
+        this.directoryLock = DIRECTORY_LOCKS.computeIfAbsent(directory.getCanonicalPath(), path -> new Object());
+        this.lockFile = FileChannel.open(new File(directory, LOCK_FILE).toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.columns = new FileChannel[COLUMN_NAMES.length];
+        this.buffers = new ByteBuffer[COLUMN_NAMES.length];
+        for (int i = 0; i < COLUMN_NAMES.length; i++)
+        {
+            columns[i] = FileChannel.open(columnFile(directory, i).toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffers[i] = ByteBuffer.allocateDirect(BUFFERED_ROWS * COLUMN_WIDTHS[i]);
+        }
+        synchronized (directoryLock)
+        {
+            FileLock lock = lockFile.lock();
+            try
+            {
+                this.strategyNames = readStrategyNames(directory);
+                this.storedRows = completeRows();
+            }
+            finally
+            {
+                lock.release();
+            }
+        }
+    }
+
+    /**
+     * Finds the number of complete rows in the column files and removes the values of a row that was only partly written (e.g. the program was stopped while writing)
+     * Only called while holding the lock of the directory
+     * @return the number of complete rows
+     */
+    private long completeRows() throws IOException
+    {
+        long rows = Long.MAX_VALUE;
+        for (int i = 0; i < COLUMN_NAMES.length; i++)
+        {
+            rows = Math.min(rows, columns[i].size() / COLUMN_WIDTHS[i]);
+        }
+        for (int i = 0; i < COLUMN_NAMES.length; i++) // Every column must have the same number of rows
+        {
+            if (columns[i].size() > rows * COLUMN_WIDTHS[i])
+            {
+                columns[i].truncate(rows * COLUMN_WIDTHS[i]);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Getter methods
+     * @return the number of games of 1-2 Nim in the store when it was last written, including the buffered games of this store
+     */
+    public synchronized long size()
+    {
+        return storedRows + bufferedRows;
+    }
+
+    /**
+     * Records a finished game of 1-2 Nim as a new row, the row is written to the column files when the buffer is full, on flush or on close
+     * @param "game" the finished game of 1-2 Nim
+     * @throws IOException if the row cannot be written
+     */
+    public synchronized void record(NimGame game) throws IOException
+    {
+        byte humanStrategy = strategyId(game.getHumanPlayer()); // Find both ids first so a failure does not leave half a row in the buffers
+        byte computerStrategy = strategyId(game.getComputerPlayer());
+        buffers[HUMAN_STRATEGY].put(humanStrategy);
+        buffers[COMPUTER_STRATEGY].put(computerStrategy);
+        NimGame.Snapshot snapshot = game.getSnapshot(); // Read every value from the same game state
+        buffers[INITIAL_PILE].putInt(snapshot.getInitialMarbleSize());
+        buffers[FIRST_MOVER].put((byte) (snapshot.isHumanFirst() ? 1 : 0)); // 1 if the human player played first
+        buffers[WINNER].put((byte) (NimGame.isHumanTurnOf(snapshot.getState()) ? 0 : 1)); // 1 if the human player won, the player who takes the last marble wins
+        buffers[MOVE_COUNT].putInt(NimGame.moveNumberOf(snapshot.getState()));
+        buffers[DURATION].putLong(snapshot.getElapsedTime());
+        bufferedRows++;
+
+        if (!buffers[HUMAN_STRATEGY].hasRemaining()) // Write the buffered rows when the buffer is full
+        {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the buffered rows to the end of the column files, the end is found again while holding the lock because other stores may have added rows
+     * @throws IOException if the rows cannot be written
+     */
+    public synchronized void flush() throws IOException
+    {
+        if (bufferedRows == 0)
+        {
+            return;
+        }
+        synchronized (directoryLock)
+        {
+            FileLock lock = lockFile.lock();
+            try
+            {
+                long rows = completeRows();
+                for (int i = 0; i < COLUMN_NAMES.length; i++)
+                {
+                    buffers[i].flip();
+                    long position = rows * COLUMN_WIDTHS[i];
+                    while (buffers[i].hasRemaining())
+                    {
+                        position += columns[i].write(buffers[i], position);
+                    }
+                    buffers[i].clear();
+                }
+                storedRows = rows + bufferedRows;
+                bufferedRows = 0;
+            }
+            finally
+            {
+                lock.release();
+            }
+        }
+    }
+
+    /**
+     * Writes the buffered rows and closes the column files
+     * @throws IOException if the rows cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException
+    {
+        flush();
+        for (FileChannel column : columns)
+        {
+            column.close();
+        }
+        lockFile.close();
+    }
+
+    /**
+     * Counts the games of 1-2 Nim and the wins of each computer strategy for every initial number of marbles
+     * @return the number of games and computer player wins by computer strategy and initial number of marbles
+     * @throws IOException if the column files cannot be read
+     */
+    public synchronized WinRates winRatesByStrategyAndPile() throws IOException
+    {
+        flush(); // The scan reads the column files, so the buffered rows must be written first
+        return scanWinRates(directory);
+    }
+
+    /**
+     * Counts the games of 1-2 Nim and the wins of each computer strategy for every initial number of marbles in a store directory
+     * The columns are memory-mapped in chunks and the chunks are counted in parallel
+     * @param "directory" the directory that contains the column files
+     * @return the number of games and computer player wins by computer strategy and initial number of marbles
+     * @throws IOException if the column files cannot be read
+     */
+    public static WinRates scanWinRates(File directory) throws IOException
+    {
+        List<String> names = readStrategyNames(directory);
+        try (FileChannel strategies = FileChannel.open(columnFile(directory, COMPUTER_STRATEGY).toPath(), StandardOpenOption.READ);
+             FileChannel piles = FileChannel.open(columnFile(directory, INITIAL_PILE).toPath(), StandardOpenOption.READ);
+             FileChannel winners = FileChannel.open(columnFile(directory, WINNER).toPath(), StandardOpenOption.READ))
+        {
+            long rows = Math.min(strategies.size(), Math.min(piles.size() / COLUMN_WIDTHS[INITIAL_PILE], winners.size())); // Only complete rows are counted
+            int chunks = (int) ((rows + SCAN_CHUNK_ROWS - 1) / SCAN_CHUNK_ROWS);
+            try
+            {
+                return IntStream.range(0, chunks).parallel()
+                    .mapToObj(chunk -> scanChunk(strategies, piles, winners, (long) chunk * SCAN_CHUNK_ROWS, Math.min(SCAN_CHUNK_ROWS, rows - (long) chunk * SCAN_CHUNK_ROWS), names))
+                    .reduce(WinRates::merge) // Each chunk has its own counts, so merging into them is safe
+                    .orElse(new WinRates(names));
+            }
+            catch (UncheckedIOException e)
+            {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Counts the games of 1-2 Nim in one chunk of rows
+     * @param "firstRow" the first row of the chunk
+     * @param "rows" the number of rows in the chunk
+     * @return the counts of the chunk
+     */
+    private static WinRates scanChunk(FileChannel strategies, FileChannel piles, FileChannel winners, long firstRow, long rows, List<String> names)
+    {
+        try
+        {
+            MappedByteBuffer strategyColumn = strategies.map(FileChannel.MapMode.READ_ONLY, firstRow, rows);
+            MappedByteBuffer pileColumn = piles.map(FileChannel.MapMode.READ_ONLY, firstRow * COLUMN_WIDTHS[INITIAL_PILE], rows * COLUMN_WIDTHS[INITIAL_PILE]);
+            MappedByteBuffer winnerColumn = winners.map(FileChannel.MapMode.READ_ONLY, firstRow, rows);
+
+            WinRates counts = new WinRates(names);
+            for (int i = 0; i < rows; i++)
+            {
+                counts.add(strategyColumn.get(i) & 0xFF, pileColumn.getInt(i * COLUMN_WIDTHS[INITIAL_PILE]), winnerColumn.get(i) == 0);
+            }
+            return counts;
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Finds the id of a player's strategy, a strategy that was not seen before is added to the strategy names file
+     * Names are only ever added, so a known id stays valid, a new name is looked up again while holding the lock because another store may have added it
+     * @param "player" the human player or computer player
+     * @return the strategy id stored in the strategy columns
+     */
+    private byte strategyId(Player player) throws IOException
+    {
+        String name = player.getStrategy() == null ? "None" : player.getStrategy().getClass().getSimpleName();
+        int id = strategyNames.indexOf(name);
+        if (id >= 0)
+        {
+            return (byte) id;
+        }
+        synchronized (directoryLock)
+        {
+            FileLock lock = lockFile.lock();
+            try
+            {
+                strategyNames = readStrategyNames(directory);
+                id = strategyNames.indexOf(name);
+                if (id < 0) // New strategy
+                {
+                    if (strategyNames.size() == MAX_STRATEGIES)
+                    {
+                        throw new IOException("Too many strategies in " + directory);
+                    }
+                    try (FileWriter writer = new FileWriter(new File(directory, STRATEGIES_FILE), true)) // Append the name to the strategy names file
+                    {
+                        writer.write(name + "\n");
+                    }
+                    strategyNames.add(name);
+                    id = strategyNames.size() - 1;
+                }
+            }
+            finally
+            {
+                lock.release();
+            }
+        }
+        return (byte) id;
+    }
+
+    /**
+     * Reads the strategy names of a store directory
+     * @return the strategy names, the index is the id stored in the strategy columns
+     */
+    private static List<String> readStrategyNames(File directory) throws IOException
+    {
+        List<String> names = new ArrayList<>();
+        File file = new File(directory, STRATEGIES_FILE);
+        if (file.exists())
+        {
+            try (BufferedReader reader = new BufferedReader(new FileReader(file)))
+            {
+                String line;
+                while ((line = reader.readLine()) != null)
+                {
+                    names.add(line);
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * @return the file of a column in a store directory
+     */
+    private static File columnFile(File directory, int column)
+    {
+        return new File(directory, COLUMN_NAMES[column] + ".col");
+    }
+
+    /**
+     * Prints the computer strategy win rates by initial number of marbles of a store directory
+     * @param args the store directory, "NimGameResults" if not given
+     */
+    public static void main(String[] args) throws IOException
+    {
+        File directory = new File(args.length > 0 ? args[0] : "NimGameResults");
+        long start = System.nanoTime();
+        WinRates winRates = scanWinRates(directory);
+        System.out.print(winRates);
+        System.out.println("Scanned " + winRates.getTotalGames() + " games in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    /**
+     * WinRates class holds the number of games and computer player wins by computer strategy and initial number of marbles
+     */
+    public static class WinRates
+    {
+        private List<String> strategyNames; // Strategy names, the index is the strategy id
+        private static final int DENSE_PILES = 1 << 16; // Initial numbers of marbles from 0 to below this are counted in arrays
+        private long[][] games; // Number of games by strategy id and initial number of marbles
+        private long[][] computerWins; // Number of computer player wins by strategy id and initial number of marbles
+        private TreeMap<Long, long[]> otherPiles = new TreeMap<>(); // Number of games and computer player wins of the other initial numbers of marbles (e.g. from a damaged file), by strategy id and pile
+
+        /**
+         * Constructor to create empty counts
+         * @param "strategyNames" the strategy names of the store
+         */
+        private WinRates(List<String> strategyNames)
+        {
+            this.strategyNames = strategyNames;
+            this.games = new long[MAX_STRATEGIES][0];
+            this.computerWins = new long[MAX_STRATEGIES][0];
+        }
+
+        /**
+         * Counts one game of 1-2 Nim
+         */
+        private void add(int strategy, int pile, boolean computerWon)
+        {
+            if (pile < 0 || pile >= DENSE_PILES) // Never index or grow the arrays by an unusual pile
+            {
+                long[] counts = otherPiles.computeIfAbsent(key(strategy, pile), key -> new long[2]);
+                counts[0]++;
+                if (computerWon)
+                {
+                    counts[1]++;
+                }
+                return;
+            }
+            grow(strategy, pile);
+            games[strategy][pile]++;
+            if (computerWon)
+            {
+                computerWins[strategy][pile]++;
+            }
+        }
+
+        /**
+         * @return the key of a strategy and an unusual initial number of marbles in otherPiles, sorted by strategy and then by pile
+         */
+        private static long key(int strategy, int pile)
+        {
+            return ((long) strategy << 32) + pile + (1L << 31);
+        }
+
+        /**
+         * Grows the counts of a strategy to fit an initial number of marbles
+         */
+        private void grow(int strategy, int pile)
+        {
+            if (pile >= games[strategy].length)
+            {
+                games[strategy] = Arrays.copyOf(games[strategy], pile + 1);
+                computerWins[strategy] = Arrays.copyOf(computerWins[strategy], pile + 1);
+            }
+        }
+
+        /**
+         * Adds the counts of another chunk to these counts
+         * @return these counts
+         */
+        private WinRates merge(WinRates other)
+        {
+            for (int strategy = 0; strategy < MAX_STRATEGIES; strategy++)
+            {
+                for (int pile = 0; pile < other.games[strategy].length; pile++)
+                {
+                    if (other.games[strategy][pile] > 0)
+                    {
+                        grow(strategy, pile);
+                        games[strategy][pile] += other.games[strategy][pile];
+                        computerWins[strategy][pile] += other.computerWins[strategy][pile];
+                    }
+                }
+            }
+            for (Map.Entry<Long, long[]> entry : other.otherPiles.entrySet())
+            {
+                long[] counts = otherPiles.computeIfAbsent(entry.getKey(), key -> new long[2]);
+                counts[0] += entry.getValue()[0];
+                counts[1] += entry.getValue()[1];
+            }
+            return this;
+        }
+
+        /**
+         * @return the number of games of 1-2 Nim played by a computer strategy with an initial number of marbles
+         */
+        public long getGames(String strategy, int pile)
+        {
+            return counts(strategy, pile)[0];
+        }
+
+        /**
+         * @return the fraction of games of 1-2 Nim won by a computer strategy with an initial number of marbles, 0 if no games were played
+         */
+        public double getComputerWinRate(String strategy, int pile)
+        {
+            long[] counts = counts(strategy, pile);
+            return counts[0] == 0 ? 0 : (double) counts[1] / counts[0];
+        }
+
+        /**
+         * @return the number of games and computer player wins of a computer strategy with an initial number of marbles
+         */
+        private long[] counts(String strategy, int pile)
+        {
+            int id = strategyNames.indexOf(strategy);
+            if (id < 0)
+            {
+                return new long[2];
+            }
+            if (pile < 0 || pile >= DENSE_PILES)
+            {
+                return otherPiles.getOrDefault(key(id, pile), new long[2]);
+            }
+            return pile < games[id].length ? new long[] {games[id][pile], computerWins[id][pile]} : new long[2];
+        }
+
+        /**
+         * @return the total number of games of 1-2 Nim counted
+         */
+        public long getTotalGames()
+        {
+            long total = 0;
+            for (long[] strategyGames : games)
+            {
+                for (long count : strategyGames)
+                {
+                    total += count;
+                }
+            }
+            for (long[] counts : otherPiles.values())
+            {
+                total += counts[0];
+            }
+            return total;
+        }
+
+        /**
+         * @return one line per computer strategy and initial number of marbles with the number of games and the computer player win rate
+         */
+        @Override
+        public String toString()
+        {
+            StringBuilder text = new StringBuilder();
+            for (int strategy = 0; strategy < strategyNames.size(); strategy++)
+            {
+                for (int pile = 0; pile < games[strategy].length; pile++)
+                {
+                    if (games[strategy][pile] > 0)
+                    {
+                        text.append(String.format("%-20s pile %3d: %12d games, computer wins %6.2f%%%n", strategyNames.get(strategy), pile, games[strategy][pile], 100.0 * computerWins[strategy][pile] / games[strategy][pile]));
+                    }
+                }
+            }
+            for (Map.Entry<Long, long[]> entry : otherPiles.entrySet())
+            {
+                int strategy = (int) (entry.getKey() >>> 32);
+                int pile = (int) (entry.getKey() - ((long) strategy << 32) - (1L << 31));
+                String name = strategy < strategyNames.size() ? strategyNames.get(strategy) : "Unknown " + strategy;
+                text.append(String.format("%-20s pile %3d: %12d games, computer wins %6.2f%%%n", name, pile, entry.getValue()[0], 100.0 * entry.getValue()[1] / entry.getValue()[0]));
+            }
+            return text.toString();
+        }
+    }
+}
\ No newline at end of file
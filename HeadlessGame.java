@@ -0,0 +1,75 @@
+import java.lang.management.ManagementFactory; // Imports the ManagementFactory class to read how long the JVM has been running
+
+/**
+ * @author DarrenCYLo
+ * @version 19/10/2026
+ * HeadlessGame class plays games of 1-2 Nim between two computer strategies without any user interface, for batch jobs
+ * It only uses the game classes, never AWT or Swing, and opens the game result store only when the first game has finished,
+ * so a short-lived run pays as little class loading and initialisation as possible
+ * It prints the time from JVM start to the first move so startup can be measured, see package-cds.sh for the class-data-sharing archive
+ */
+public class HeadlessGame
+{
+    /**
+     * Method to play games from the command line
+     * @param args number of games (1 if not given), strategy code of the "human" side and of the computer side (the strategy in the GameConfig if not given)
+     */
+    public static void main(String[] args) throws Exception
+    {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        String humanCode = args.length > 1 ? args[1] : GameConfig.get().getStrategy();
+        String computerCode = args.length > 2 ? args[2] : GameConfig.get().getStrategy();
+
+        StrategyRegistry.warmUp(GameConfig.get().getWarmUpMoves()); // Warm up the computer strategies if set in the GameConfig, before the first game
+        NimGame game = new NimGame(new Player("Human", StrategyRegistry.create(humanCode)), new Player("Computer", StrategyRegistry.create(computerCode))); // No HumanUserStrategy, so no console Scanner
+        GameResultStore resultStore = null; // Opened when the first game has finished
+        long firstMove = 0; // System.nanoTime() of the first move
+        int humanWins = 0;
+        try
+        {
+            for (int i = 0; i < games; i++)
+            {
+                if (i > 0)
+                {
+                    game.startNewGame(); // Reuse the game, players and strategies
+                }
+                while (!game.checkWinner())
+                {
+                    Player player = game.isHumanTurn() ? game.getHumanPlayer() : game.getComputerPlayer();
+                    game.assignMove(player.getMove(game.getMarbleSize()));
+                    if (firstMove == 0)
+                    {
+                        firstMove = System.nanoTime();
+                    }
+                }
+                if (!game.isHumanTurn()) // The player who takes the last marble wins
+                {
+                    humanWins++;
+                }
+                if (GameConfig.get().isRecordingResults())
+                {
+                    if (resultStore == null)
+                    {
+                        resultStore = new GameResultStore(GameConfig.get().getResultsDirectory());
+                    }
+                    resultStore.record(game);
+                }
+            }
+        }
+        finally
+        {
+            if (resultStore != null)
+            {
+                resultStore.close(); // Write the buffered results
+            }
+        }
+
+        System.out.println(games + " games, " + StrategyRegistry.nameOf(humanCode) + " won " + humanWins + ", " + StrategyRegistry.nameOf(computerCode) + " won " + (games - humanWins));
+        if (firstMove != 0)
+        {
+            long sinceFirstMove = (System.nanoTime() - firstMove) / 1_000_000;
+            long uptime = ManagementFactory.getRuntimeMXBean().getUptime(); // Loaded only now, so it does not slow down the first move
+            System.out.println("Time to first move: " + (uptime - sinceFirstMove) + " ms after JVM start");
+        }
+    }
+}
\ No newline at end of file
@@ -8,6 +8,7 @@ import java.util.Scanner; // Imports the Scanner class for reading user input
 public class HumanUserStrategy implements MoveStrategy 
 {
     private Scanner reader;// Instance variable to read user input from the console
+    private GameConfig config = GameConfig.get(); // The configured numbers of marbles that can be removed in one move (1 or 2 by default)
     
     /**
      * Constructor to initialise the Scanner object for user input
@@ -31,10 +32,10 @@ public class HumanUserStrategy implements MoveStrategy
 
         while (!validMove) // while loop to keep asking for user input until a valid move is entered (1 marble or 2 marbles)
         {
-            System.out.print("How many marbles do you want to remove? (1 or 2): ");
+            System.out.print("How many marbles do you want to remove? (" + config.describeMoves() + "): ");
             move = reader.nextInt(); // Read the user's input
             
-            if (move == 1 || move == 2) // Forces the human player to remove 1 marble or 2 marbles
+            if (config.isValidMove(move)) // Forces the human player to remove one of the configured moves (1 marble or 2 marbles by default)
             {
                 if (move <= currentPileSize) // Forces the human player to not over remove the number of marbles remaining
                 {
@@ -47,7 +48,7 @@ public class HumanUserStrategy implements MoveStrategy
             } 
             else 
             {
-                System.out.println("Oi! You can only remove 1 or 2 marbles!");
+                System.out.println("Oi! You can only remove " + config.describeMoves() + " marbles!");
             }
         }
         return move; // Return the valid number of marbles to remove
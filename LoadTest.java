@@ -0,0 +1,444 @@
+import java.io.File; // Imports the File class for the directory of the save files
+import java.io.IOException; // Imports the IOException class thrown when a game cannot be saved or loaded
+import java.nio.file.Files; // Imports the Files class to create and delete the directory of the save files
+import java.util.HashMap; // Imports the HashMap class to store the command-line options
+import java.util.Map; // Imports the Map interface
+import java.util.concurrent.CompletableFuture; // Imports the CompletableFuture class to send operations to the workers without blocking
+import java.util.concurrent.CountDownLatch; // Imports the CountDownLatch class to wait until every session has stopped
+import java.util.concurrent.ExecutorService; // Imports the ExecutorService interface for the threads that run the operations
+import java.util.concurrent.Executors; // Imports the Executors class to create the thread pools
+import java.util.concurrent.ScheduledExecutorService; // Imports the ScheduledExecutorService interface to wait the think time between operations
+import java.util.concurrent.ThreadLocalRandom; // Imports the ThreadLocalRandom class for the think time and operation mix
+import java.util.concurrent.TimeUnit; // Imports the TimeUnit enum
+import java.util.concurrent.atomic.AtomicLong; // Imports the AtomicLong class for counters shared by the sessions
+import java.util.concurrent.atomic.AtomicLongArray; // Imports the AtomicLongArray class for the latency histograms
+
+/**
+ * @author DarrenCYLo
+ * @version 19/10/2026
+ * LoadTest class plays many games of 1-2 Nim at the same time with synthetic human players to find how many players one node can serve
+ * Each session waits a think time, then makes a move, undoes a move, saves or loads its game, and starts a new game when its game has ended
+ * Latency percentiles and throughput are reported for every operation, the latency is measured from the time the operation was due after its think time,
+ * not from the time it started, so an operation that starts late because the node is overloaded counts its wait as latency (no coordinated omission)
+ *
+ * Options (all optional): --sessions=1000 --duration=30 --warmup=5 --think=exp:500 --undo=0.05 --save=0.02 --load=0.02
+ * --target=inprocess|server --server-threads=4 --strategy=R
+ * Think times: none, fixed:MS, uniform:MIN-MAX (ms) or exp:MEAN (ms)
+ * The "inprocess" target runs every operation on its own worker thread as soon as it is due, so a blocking save or load never delays the other sessions
+ * The "server" target sends every operation to a fixed number of server threads, like the request threads of a local server, so queueing time is included in the latency
+ */
+public class LoadTest
+{
+    /**
+     * Operations a session performs on its game of 1-2 Nim
+     */
+    private enum Operation
+    {
+        MOVE, UNDO, SAVE, LOAD, NEW_GAME
+    }
+
+    private int sessions; // Number of games played at the same time
+    private int durationSeconds; // Seconds the load test is measured
+    private int warmUpSeconds; // Seconds played before measuring starts
+    private String thinkTime; // Think time distribution, e.g. "exp:500"
+    private double undoRate, saveRate, loadRate; // Chance that an operation is an undo, save or load instead of a move
+    private String strategyCode; // Computer strategy of every game
+    private String target; // "inprocess" or "server"
+    private ScheduledExecutorService scheduler; // Waits the think times, then hands the operations to the workers, it never runs an operation itself
+    private ExecutorService workers; // Threads that run the operations: the server stand-in threads, or a thread per operation in-process
+    private File saveDirectory; // Directory of the save files, one per session
+    private LatencyHistogram[] histograms; // Latency of every operation, by operation
+    private AtomicLong errors = new AtomicLong(); // Number of operations that threw an exception
+    private volatile boolean running = true; // False when the sessions must stop
+    private volatile boolean recording = false; // True after the warm up
+    private CountDownLatch stopped; // Counts down when a session has stopped
+
+    /**
+     * Constructor to set up a load test from command-line options
+     * @param "options" the options without "--", e.g. "sessions" -> "1000"
+     * @throws IllegalArgumentException if an option is unknown or has an invalid value
+     */
+    public LoadTest(Map<String, String> options)
+    {
+        Map<String, String> values = new HashMap<>(options);
+        this.sessions = Integer.parseInt(remove(values, "sessions", "1000"));
+        this.durationSeconds = Integer.parseInt(remove(values, "duration", "30"));
+        this.warmUpSeconds = Integer.parseInt(remove(values, "warmup", "5"));
+        this.thinkTime = remove(values, "think", "exp:500");
+        this.undoRate = Double.parseDouble(remove(values, "undo", "0.05"));
+        this.saveRate = Double.parseDouble(remove(values, "save", "0.02"));
+        this.loadRate = Double.parseDouble(remove(values, "load", "0.02"));
+        this.strategyCode = remove(values, "strategy", GameConfig.get().getStrategy());
+        this.target = remove(values, "target", "inprocess");
+        int serverThreads = Integer.parseInt(remove(values, "server-threads", "4"));
+        if (!values.isEmpty())
+        {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        nextThinkTime(); // Check the think time distribution before starting
+        StrategyRegistry.typeOf(strategyCode); // Check the strategy code before starting
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor();
+        if (target.equals("server"))
+        {
+            this.workers = Executors.newFixedThreadPool(serverThreads);
+        }
+        else if (target.equals("inprocess"))
+        {
+            this.workers = Executors.newCachedThreadPool(); // Reuses idle threads, a new thread is only created when every thread is busy
+        }
+        else
+        {
+            throw new IllegalArgumentException("Unknown target: " + target);
+        }
+        this.histograms = new LatencyHistogram[Operation.values().length];
+        for (int i = 0; i < histograms.length; i++)
+        {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Removes an option and returns its value
+     */
+    private static String remove(Map<String, String> options, String name, String defaultValue)
+    {
+        String value = options.remove(name);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Runs the load test: starts every session, waits the warm up and the duration, stops the sessions and prints the report
+     * @throws Exception if the directory of the save files cannot be created or the test is interrupted
+     */
+    public void run() throws Exception
+    {
+        StrategyRegistry.warmUp(GameConfig.get().getWarmUpMoves()); // Warm up the computer strategies if set in the GameConfig
+        saveDirectory = Files.createTempDirectory("NimLoadTest").toFile();
+        stopped = new CountDownLatch(sessions);
+        for (int i = 0; i < sessions; i++)
+        {
+            new Session(new File(saveDirectory, "session" + i + ".txt").getPath()).scheduleNext();
+        }
+
+        Thread.sleep(warmUpSeconds * 1000L); // Let the JIT and the thread pools warm up before measuring
+        recording = true;
+        long start = System.nanoTime();
+        Thread.sleep(durationSeconds * 1000L);
+        recording = false;
+        long elapsed = System.nanoTime() - start;
+
+        running = false; // Stop the sessions and wait until the operations in progress have finished
+        stopped.await(1, TimeUnit.MINUTES);
+        scheduler.shutdownNow();
+        workers.shutdownNow();
+        for (File file : saveDirectory.listFiles())
+        {
+            file.delete();
+        }
+        saveDirectory.delete();
+
+        printReport(elapsed);
+    }
+
+    /**
+     * Prints the number of operations, throughput and latency percentiles of every operation
+     * @param "elapsed" the measured time in nanoseconds
+     */
+    private void printReport(long elapsed)
+    {
+        double seconds = elapsed / 1e9;
+        System.out.println("Target: " + target + ", sessions: " + sessions + ", think time: " + thinkTime + ", measured: " + durationSeconds + " s");
+        System.out.println(String.format("%-10s %12s %10s %10s %10s %10s %10s %10s", "Operation", "Count", "Ops/s", "p50 us", "p90 us", "p99 us", "p99.9 us", "Max us"));
+        long total = 0;
+        for (Operation operation : Operation.values())
+        {
+            LatencyHistogram histogram = histograms[operation.ordinal()];
+            long count = histogram.getCount();
+            total += count;
+            System.out.println(String.format("%-10s %12d %10.0f %10.1f %10.1f %10.1f %10.1f %10.1f", operation, count, count / seconds,
+                histogram.getPercentile(0.5) / 1e3, histogram.getPercentile(0.9) / 1e3, histogram.getPercentile(0.99) / 1e3, histogram.getPercentile(0.999) / 1e3, histogram.getMax() / 1e3));
+        }
+        System.out.println(String.format("%-10s %12d %10.0f", "Total", total, total / seconds));
+        System.out.println("Errors: " + errors.get());
+    }
+
+    /**
+     * Picks the next think time from the think time distribution
+     * @return the think time in nanoseconds
+     */
+    private long nextThinkTime()
+    {
+        String[] parts = thinkTime.split(":");
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double millis;
+        switch (parts[0])
+        {
+            case "none":
+                millis = 0;
+                break;
+            case "fixed":
+                millis = Double.parseDouble(parts[1]);
+                break;
+            case "uniform":
+                String[] range = parts[1].split("-");
+                millis = Double.parseDouble(range[0]) + random.nextDouble() * (Double.parseDouble(range[1]) - Double.parseDouble(range[0]));
+                break;
+            case "exp":
+                millis = -Math.log(1 - random.nextDouble()) * Double.parseDouble(parts[1]); // Exponential distribution with the given mean
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown think time: " + thinkTime);
+        }
+        return (long) (millis * 1e6);
+    }
+
+    /**
+     * Session class plays one game of 1-2 Nim after another, one operation at a time, with a synthetic human player
+     */
+    private class Session
+    {
+        private NimGame game; // The game of this session, only used by one operation at a time
+        private String saveFile; // The save file of this session
+        private boolean hasSave; // True after the first save, load is only done when there is a save
+
+        /**
+         * Constructor to create the session's game, the synthetic human player removes random marbles like RandomStrategy
+         * @param "saveFile" the save file of this session
+         */
+        private Session(String saveFile)
+        {
+            this.game = new NimGame(new Player("Human", new RandomStrategy()), new Player("Computer", StrategyRegistry.create(strategyCode)));
+            this.saveFile = saveFile;
+        }
+
+        /**
+         * Runs the next operation after a think time, or stops the session if the load test has finished
+         */
+        private void scheduleNext()
+        {
+            if (!running)
+            {
+                stopped.countDown();
+                return;
+            }
+            long thinkTime = nextThinkTime();
+            long due = System.nanoTime() + thinkTime; // The time the operation is due, its latency is measured from here
+            scheduler.schedule(() -> runNext(due), thinkTime, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Runs the next operation on a worker and records its latency
+         * @param "due" the System.nanoTime() the operation was due
+         */
+        private void runNext(long due)
+        {
+            CompletableFuture.supplyAsync(() ->
+            {
+                Operation operation = chooseOperation();
+                perform(operation);
+                return operation;
+            }, workers).whenComplete((operation, error) ->
+            {
+                if (operation != null)
+                {
+                    record(operation, due);
+                }
+                scheduleNext();
+            });
+        }
+
+        /**
+         * Chooses the next operation from the operation mix, a finished game is always followed by a new game
+         */
+        private Operation chooseOperation()
+        {
+            if (game.checkWinner())
+            {
+                return Operation.NEW_GAME;
+            }
+            double choice = ThreadLocalRandom.current().nextDouble();
+            if (choice < undoRate && game.getMoveCount() > 0)
+            {
+                return Operation.UNDO;
+            }
+            if (choice < undoRate + saveRate)
+            {
+                return Operation.SAVE;
+            }
+            if (choice < undoRate + saveRate + loadRate && hasSave)
+            {
+                return Operation.LOAD;
+            }
+            return Operation.MOVE;
+        }
+
+        /**
+         * Performs an operation on the game, exceptions are counted as errors
+         */
+        private void perform(Operation operation)
+        {
+            try
+            {
+                switch (operation)
+                {
+                    case MOVE: // Like TextBasedUI.makeMove: the player whose turn it is moves, then the other player replies
+                        playMove();
+                        if (!game.checkWinner())
+                        {
+                            playMove();
+                        }
+                        break;
+                    case UNDO:
+                        game.undoLastMove();
+                        break;
+                    case SAVE: // saveGameTo and loadGameFrom throw instead of printing a message, so failures are counted
+                        game.saveGameTo(saveFile);
+                        hasSave = true;
+                        break;
+                    case LOAD:
+                        if (!game.loadGameFrom(saveFile))
+                        {
+                            errors.incrementAndGet(); // The save file of this session has no game
+                        }
+                        break;
+                    case NEW_GAME:
+                        game.startNewGame();
+                        break;
+                }
+            }
+            catch (IOException | RuntimeException e)
+            {
+                errors.incrementAndGet();
+            }
+        }
+
+        /**
+         * Plays one move for the player whose turn it is
+         */
+        private void playMove()
+        {
+            Player player = game.isHumanTurn() ? game.getHumanPlayer() : game.getComputerPlayer();
+            game.assignMove(player.getMove(game.getMarbleSize()));
+        }
+
+        /**
+         * Records the latency of an operation if the warm up has finished
+         * @param "due" the System.nanoTime() the operation was due
+         */
+        private void record(Operation operation, long due)
+        {
+            if (recording)
+            {
+                histograms[operation.ordinal()].record(System.nanoTime() - due);
+            }
+        }
+    }
+
+    /**
+     * LatencyHistogram class counts latencies in buckets that are at most 1/16 apart, so percentiles are accurate to about 6%
+     * Percentiles report the highest value of their bucket (like HdrHistogram), so they are never below the real value
+     * Values can be recorded by many threads at the same time
+     */
+    private static class LatencyHistogram
+    {
+        private static final int SUB_BUCKETS = 16; // Buckets between two powers of 2
+        private AtomicLongArray counts = new AtomicLongArray(64 * SUB_BUCKETS); // Number of values in each bucket
+        private AtomicLong count = new AtomicLong(); // Number of values
+        private AtomicLong max = new AtomicLong(); // Largest value
+
+        /**
+         * Records a value
+         * @param "nanos" the latency in nanoseconds
+         */
+        private void record(long nanos)
+        {
+            counts.incrementAndGet(bucket(Math.max(0, nanos)));
+            count.incrementAndGet();
+            max.accumulateAndGet(nanos, Math::max);
+        }
+
+        /**
+         * @return the bucket of a value, values below 16 have their own bucket
+         */
+        private static int bucket(long value)
+        {
+            if (value < SUB_BUCKETS)
+            {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value); // Position of the highest bit, at least 4
+            int mantissa = (int) (value >>> (exponent - 4)) & (SUB_BUCKETS - 1); // The 4 bits after the highest bit
+            return (exponent - 3) * SUB_BUCKETS + mantissa;
+        }
+
+        /**
+         * @return the smallest value of a bucket
+         */
+        private static long lowestValue(int bucket)
+        {
+            if (bucket < SUB_BUCKETS)
+            {
+                return bucket;
+            }
+            int exponent = bucket / SUB_BUCKETS + 3;
+            return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - 4);
+        }
+
+        /**
+         * @return the largest value of a bucket
+         */
+        private static long highestValue(int bucket)
+        {
+            return bucket + 1 < 64 * SUB_BUCKETS ? lowestValue(bucket + 1) - 1 : Long.MAX_VALUE;
+        }
+
+        /**
+         * @param "fraction" the percentile as a fraction, e.g. 0.99
+         * @return the value in nanoseconds that the given fraction of values are at or below, rounded up to the highest value of its bucket but not above the largest value recorded
+         */
+        private long getPercentile(double fraction)
+        {
+            long target = (long) Math.ceil(fraction * count.get());
+            long seen = 0;
+            for (int i = 0; i < counts.length(); i++)
+            {
+                seen += counts.get(i);
+                if (seen >= target && seen > 0)
+                {
+                    return Math.min(highestValue(i), max.get());
+                }
+            }
+            return 0;
+        }
+
+        private long getCount()
+        {
+            return count.get();
+        }
+
+        private long getMax()
+        {
+            return max.get();
+        }
+    }
+
+    /**
+     * Method to run the load test from the command line
+     * @param args options like --sessions=1000, see the class comment
+     */
+    public static void main(String[] args) throws Exception
+    {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args)
+        {
+            if (!arg.startsWith("--") || !arg.contains("="))
+            {
+                System.out.println("Invalid option " + arg + ", options look like --sessions=1000");
+                return;
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new LoadTest(options).run();
+    }
+}
\ No newline at end of file
@@ -12,4 +12,12 @@ public interface MoveStrategy
      */
 {
     int NextMove(int currentPileSize); // Declares a method to determine 1 marble or 2 marbles removal
+
+    /**
+     * Clears any state the strategy keeps between moves so the same instance can be reused for a new game of 1-2 Nim
+     * Strategies without state between moves (RandomStrategy and HumanUserStrategy) do not need to override this method
+     */
+    default void reset() // Declares a method to clear the strategy state, does nothing by default
+    {
+    }
 }
\ No newline at end of file
@@ -1,22 +1,30 @@
 import java.io.File; // Imports the File class to read from the file NimGameSave.txt
 import java.io.FileWriter; // Imports the FileWriter class to write in the file NimGameSave.txt
+import java.io.IOException; // Imports the IOException class thrown when a saved game cannot be written or read
+import java.util.ArrayList; // Imports the ArrayList class to copy the game states
+import java.util.Collections; // Imports the Collections class to put the game states in move order
+import java.util.List; // Imports the List interface
 import java.util.Random; // Imports the Random class for random generation
-import java.util.Scanner; // Imports the Scanner class for reading user input
-import java.util.Stack; // Imports Stack class to store the game of 1-2 Nim game state and undo functionality 
+import java.util.Scanner; // Imports the Scanner class for reading the file NimGameSave.txt
+import java.util.concurrent.CopyOnWriteArrayList; // Imports the CopyOnWriteArrayList class so listeners can be added while the game is played
+import java.util.concurrent.atomic.AtomicReference; // Imports the AtomicReference class to change the game state in one compare-and-set that other threads can read safely
 
 /**
  * @author DarrenCYLo
  * @version 12/01/2025
  * NimGame class handles the logic and the game 1-2 Nim game state management
- * Handle the game state of the game 1-2 Nim (number of marbles from 5 to 20 and player turn selection), save, load, undo and clear/reset
+ * Handle the game state of the game 1-2 Nim (number of marbles and player turn selection from the GameConfig), save, load, undo and clear/reset
+ * The game state is an immutable Snapshot that points to the snapshot of the previous move, every change replaces it with one compare-and-set,
+ * so other threads (e.g. spectators or autosave) can read the game state and its history without locking, and moves from several threads are played one at a time with submitMove
  */
 public class NimGame
 {
     private Player humanPlayer; // Instance variable that represents the human player (private keyword, Player class data type and variable)
     private Player computerPlayer; // Instance variable that represents the computer player
-    private int marbleSize; // Instance variable that tracks the current number of marbles (private keyword, integer data type an variable)
-    private boolean isHumanTurn; // Instance variable that tracks the current number of marbles (true for human player and false for computer player)
-    private Stack<String> gameStates; // Stack to store the game of 1-2 Nim game state for undo functionality 
+    private AtomicReference<Snapshot> current; // The current game state, its previous snapshots are the undo history
+    private List<StateListener> stateListeners = new CopyOnWriteArrayList<>(); // Called after every change, e.g. by GameBroadcaster
+    private GameConfig config; // The game set up (number of marbles, first player, save file) shared by every game of 1-2 Nim
+    private Random random; // Random object reused for the number of marbles and the first player of every game of 1-2 Nim
 
     /**
      * Parameterised constructor
@@ -24,18 +32,179 @@ public class NimGame
      * @param "computerPlayer" the computer player with a selected strategy (random strategy or your strategy)
      */
     public NimGame(Player humanPlayer, Player computerPlayer) 
+    {
+        this(humanPlayer, computerPlayer, GameConfig.get()); // Use the configuration read at startup
+    }
+
+    /**
+     * Parameterised constructor
+     * @param "humanPlayer" the human player
+     * @param "computerPlayer" the computer player with a selected strategy (random strategy or your strategy)
+     * @param "config" the game set up
+     */
+    public NimGame(Player humanPlayer, Player computerPlayer, GameConfig config)
     {
         this.humanPlayer = humanPlayer; // Assigns the parameter "humanPlayer" to the object's properties "humanPlayer"
         this.computerPlayer = computerPlayer; // Assigns the parameter "computerPlayer" to the object's properties "computerPlayer"
-        
-        Random randomMarble = new Random(); // Create an instance of the Random class from the java.util.Random Java standard library to generate random numbers
-        this.marbleSize = randomMarble.nextInt(16) + 5; // Randomly selects number of marbles between minimum 5 to maximum 20 
-        
-        Random randomPlayer = new Random(); // Create an instance to randomly select if human player or computer player plays first 
-        this.isHumanTurn = randomPlayer.nextBoolean(); // nextBoolean() returns "true" or "false" randomly, "true" for human player and "false" for computer player
+        this.config = config;
+        this.random = config.newRandom(); // Create an instance of the Random class, seeded if the configuration has a seed
+        this.current = new AtomicReference<>();
+        startNewGame(); // Randomise the number of marbles and the first player, then save the initial game of 1-2 Nim game state
+    }
+
+    /**
+     * Starts a new game of 1-2 Nim in place so this NimGame and its players can be reused without creating new objects
+     * Clears the strategy state of both players, selects the number of marbles and the first player from the configuration and clears the undo history
+     */
+    public void startNewGame()
+    {
+        resetStrategy(humanPlayer); // Clear any state the human player's strategy keeps between moves
+        resetStrategy(computerPlayer); // Clear any state the computer player's strategy keeps between moves (e.g. YourStrategy counter)
 
-        this.gameStates = new Stack<>(); // Initialise the stack to store and save the game of 1-2 Nim game states
-        saveState(); // Save the initial game of 1-2 Nim game state
+        int marbleSize = config.getMinPile() + random.nextInt(config.getMaxPile() - config.getMinPile() + 1); // Randomly selects number of marbles in the configured range (5 to 20 by default)
+        boolean isHumanTurn;
+        switch (config.getFirstPlayer()) // Select who plays first
+        {
+            case HUMAN:
+                isHumanTurn = true;
+                break;
+            case COMPUTER:
+                isHumanTurn = false;
+                break;
+            default:
+                isHumanTurn = random.nextBoolean(); // nextBoolean() returns "true" or "false" randomly, "true" for human player and "false" for computer player
+        }
+        long startTime = System.nanoTime();
+
+        Snapshot previous;
+        Snapshot next;
+        do // The previous game and its history are replaced in one step
+        {
+            previous = current.get();
+            next = new Snapshot(pack(marbleSize, isHumanTurn, 0), null, nextVersion(previous), marbleSize, isHumanTurn, startTime);
+        }
+        while (!current.compareAndSet(previous, next));
+        notifyStateListeners(Change.NEW_GAME, 0, next);
+    }
+
+    /**
+     * Change enum lists the kinds of change reported to a StateListener
+     */
+    public enum Change
+    {
+        MOVE, // A move was played
+        UNDO, // A move was undone
+        NEW_GAME // A new game was started or a saved game was loaded
+    }
+
+    /**
+     * StateListener interface is called after every change of the game state
+     */
+    public interface StateListener
+    {
+        /**
+         * Called after a change of the game state
+         * @param "change" the kind of change
+         * @param "removed" the number of marbles removed by a MOVE, 0 for other changes
+         * @param "state" the game state after the change, read it with marbleSizeOf, isHumanTurnOf and moveNumberOf
+         * @param "version" the version of the change, one more than the version of the change before it
+         */
+        void stateChanged(Change change, int removed, long state, long version);
+    }
+
+    /**
+     * Adds a listener that is called after every move, undo, load and new game
+     * Listeners are called on the thread that changed the game state after the change, so they should return quickly
+     * Changes made by different threads at the same time can be reported in any order, the version gives their order
+     * @param "listener" the listener
+     */
+    public void addStateListener(StateListener listener)
+    {
+        stateListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener added with addStateListener
+     * @param "listener" the listener
+     */
+    public void removeStateListener(StateListener listener)
+    {
+        stateListeners.remove(listener);
+    }
+
+    /**
+     * Removes every listener, e.g. when the game is returned to a NimGamePool so the next game is not sent to the listeners of this one
+     */
+    public void removeStateListeners()
+    {
+        stateListeners.clear();
+    }
+
+    /**
+     * Calls every listener with a change
+     */
+    private void notifyStateListeners(Change change, int removed, Snapshot snapshot)
+    {
+        for (StateListener listener : stateListeners)
+        {
+            listener.stateChanged(change, removed, snapshot.state, snapshot.version);
+        }
+    }
+
+    /**
+     * @return the version of the change after a snapshot
+     */
+    private static long nextVersion(Snapshot previous)
+    {
+        return previous == null ? 1 : previous.version + 1;
+    }
+
+    /**
+     * Packs a game state into one value: bits 0-31 the number of marbles, bit 32 the player's turn, bits 33-63 the move number
+     * @return the packed game state
+     */
+    private static long pack(int marbleSize, boolean isHumanTurn, int moveNumber)
+    {
+        return (marbleSize & 0xFFFFFFFFL) | (isHumanTurn ? 1L << 32 : 0) | ((long) moveNumber << 33);
+    }
+
+    /**
+     * @param "state" a game state from getState()
+     * @return the number of marbles of the game state
+     */
+    public static int marbleSizeOf(long state)
+    {
+        return (int) state;
+    }
+
+    /**
+     * @param "state" a game state from getState()
+     * @return true if it is the human player's turn in the game state
+     */
+    public static boolean isHumanTurnOf(long state)
+    {
+        return (state & (1L << 32)) != 0;
+    }
+
+    /**
+     * @param "state" a game state from getState()
+     * @return the number of moves played before the game state, moves that were undone are not counted
+     */
+    public static int moveNumberOf(long state)
+    {
+        return (int) (state >>> 33);
+    }
+
+    /**
+     * Clears the strategy state of a player if the player has a strategy
+     * @param "player" the human player or computer player
+     */
+    private void resetStrategy(Player player)
+    {
+        if (player.getStrategy() != null) // The human player can be created without a strategy
+        {
+            player.getStrategy().reset();
+        }
     }
 
     /**
@@ -56,13 +225,34 @@ public class NimGame
         return computerPlayer;
     }
 
+    /**
+     * Getter methods
+     * Reads the whole game state at once, use it when several parts must belong to the same game (e.g. GameResultStore.record)
+     * @return the current game state and its history
+     */
+    public Snapshot getSnapshot()
+    {
+        return current.get();
+    }
+
     /**
      * Getter methods
      * @return the numner of marble
      */ 
     public int getMarbleSize() 
     {
-        return marbleSize;
+        return marbleSizeOf(getState());
+    }
+
+    /**
+     * Getter methods
+     * Reads the number of marbles, the player's turn and the move number at once, so other threads (e.g. spectators or autosave) never see half of a move
+     * Read the parts with marbleSizeOf, isHumanTurnOf and moveNumberOf
+     * @return the current game state
+     */
+    public long getState()
+    {
+        return current.get().state;
     }
     
     /**
@@ -72,16 +262,61 @@ public class NimGame
      */
     public boolean isHumanTurn() 
     {
-        return isHumanTurn;
+        return isHumanTurnOf(getState());
     }
     
+    /**
+     * Getter methods
+     * @return the number of marbles at the start of the game of 1-2 Nim
+     */
+    public int getInitialMarbleSize()
+    {
+        return current.get().initialMarbleSize;
+    }
+
+    /**
+     * Getter methods
+     * @return true if the human player played first
+     */
+    public boolean isHumanFirst()
+    {
+        return current.get().isHumanFirst;
+    }
+
+    /**
+     * Getter methods
+     * @return the number of moves played, moves that were undone are not counted
+     */
+    public int getMoveCount()
+    {
+        return moveNumberOf(getState()); // The first game state is the initial game state
+    }
+
+    /**
+     * Getter methods
+     * @return a copy of the game states from the start of the game to the current game state, e.g. "12,Human", moves that were undone are not included
+     */
+    public List<String> getHistory()
+    {
+        return current.get().getHistory();
+    }
+
+    /**
+     * Getter methods
+     * @return the time in nanoseconds since the game of 1-2 Nim started
+     */
+    public long getElapsedTime()
+    {
+        return current.get().getElapsedTime();
+    }
+
     /**
      * Handle game of 1-2 Nim winner
      * @return true if the game of 1-2 Nim has ended
      */
     public boolean checkWinner() 
     {
-        return marbleSize <= 0; // The game of 1-2 Nim ends when there is 0 marble
+        return getMarbleSize() <= 0; // The game of 1-2 Nim ends when there is 0 marble
     }
         
     /**
@@ -90,19 +325,56 @@ public class NimGame
      */ 
     public void assignMove(int removeAmount) 
     {
-        marbleSize -= removeAmount; // Reduce the number of marbles by the amount removed (1 marble or 2 marbles)
-        isHumanTurn = !isHumanTurn; // Switches the turn to the other player's turn
-        saveState(); // Save the game of 1-2 Nim game state after each marble removal 
+        Snapshot previous;
+        Snapshot next;
+        do
+        {
+            previous = current.get();
+            next = previous.afterMove(removeAmount); // Reduce the number of marbles and switch the turn to the other player's turn
+        }
+        while (!current.compareAndSet(previous, next)); // Retry if another thread changed the game state at the same time
+        notifyStateListeners(Change.MOVE, removeAmount, next);
+    }
+
+    /**
+     * Submits a move that was decided from a game state read with getState(), for games that receive moves from several threads at the same time
+     * The move is only played if the game state has not changed since it was read, so when two moves are submitted for the same game state only the first one is played
+     * @param "expectedState" the game state the move was decided from
+     * @param "removeAmount" the number of marbles removed, one of the moves in the GameConfig
+     * @return the game state after the move
+     * @throws IllegalArgumentException if the number of marbles cannot be removed
+     * @throws IllegalStateException if the game has ended or another move was played first, the move is not played
+     */
+    public long submitMove(long expectedState, int removeAmount)
+    {
+        if (marbleSizeOf(expectedState) <= 0)
+        {
+            throw new IllegalStateException("Move rejected: the game of 1-2 Nim has ended");
+        }
+        if (!config.isValidMove(removeAmount) || removeAmount > marbleSizeOf(expectedState))
+        {
+            throw new IllegalArgumentException("Move rejected: " + removeAmount + " marbles cannot be removed from " + marbleSizeOf(expectedState));
+        }
+        Snapshot previous = current.get();
+        Snapshot next = previous.afterMove(removeAmount);
+        if (previous.state != expectedState || !current.compareAndSet(previous, next)) // Only one move can replace the expected game state
+        {
+            throw new IllegalStateException("Move rejected: the game state changed before the move was played, the game is at move " + getMoveCount());
+        }
+        notifyStateListeners(Change.MOVE, removeAmount, next);
+        return next.state;
     }
     
     /**
-     * Saves the current game of 1-2 Nim game state into the stack
-     * Saves the current number of marbles and the current player's turn for undo functionality
+     * Reads a saved game state
+     * @param "savedState" the game state, e.g. "12,Human"
+     * @param "moveNumber" the move number of the game state
+     * @return the packed game state
      */
-    private void saveState() 
+    private static long parseState(String savedState, int moveNumber)
     {
-        String currentState = marbleSize + "," + (isHumanTurn ? "Human" : "Computer"); // Create a string to represent the current game state
-        gameStates.push(currentState); // Push the game state onto the stack
+        String[] parts = savedState.split(","); // Split the state into parts
+        return pack(Integer.parseInt(parts[0]), parts[1].equals("Human"), moveNumber);
     }
 
     /**
@@ -110,15 +382,19 @@ public class NimGame
      * Saves the number of marbles, human player's or computer player's turn and computer strategy in use
      */     
     public void saveGame() 
+    {
+        saveGame(config.getSaveFile()); // Save to the file set in the GameConfig (NimGameSave.txt by default)
+    }
+
+    /**
+     * Saves the current state of the game to a file, used when many games are saved at the same time
+     * @param "fileName" the file to write
+     */
+    public void saveGame(String fileName)
     {
         try 
         {
-            FileWriter writer = new FileWriter("NimGameSave.txt"); // Create a FileWriter object to write to the file
-            for (String state : gameStates) // Write all game of 1-2 Nim game state from the stack to the file NimGameSave.txt
-            {
-                writer.write(state + "\n"); // Write each game of 1-2 Nim game state followed by a new line in the file NimGameSave.txt
-            }
-            writer.close(); // Close the writer to save the file NimGameSave.txt
+            saveGameTo(fileName);
         } 
         catch (Exception e) 
         {
@@ -126,32 +402,40 @@ public class NimGame
         }
     }
 
+    /**
+     * Saves the current state of the game to a file, for callers that handle the error themselves (e.g. LoadTest counts it)
+     * @param "fileName" the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void saveGameTo(String fileName) throws IOException
+    {
+        try (FileWriter writer = new FileWriter(fileName)) // Create a FileWriter object to write to the file, closed even if writing fails
+        {
+            for (String savedState : getHistory()) // Write all game of 1-2 Nim game state from the history to the file NimGameSave.txt
+            {
+                writer.write(savedState + "\n"); // Write each game of 1-2 Nim game state followed by a new line in the file NimGameSave.txt
+            }
+        }
+    }
+
     /**
      * Loads the latest saved game of 1-2 Nim game state from file NimGameSave.txt
      * Updates the game of 1-2 Nim game state (number of marbles and player's turn)
      */ 
     public void loadGame() 
+    {
+        loadGame(config.getSaveFile()); // Load from the file set in the GameConfig (NimGameSave.txt by default)
+    }
+
+    /**
+     * Loads the latest saved game of 1-2 Nim game state from a file written by saveGame
+     * @param "fileName" the file to read
+     */
+    public void loadGame(String fileName)
     {
         try 
         {
-            File file = new File("NimGameSave.txt"); // Create a File object to read from the file
-            Scanner scanner = new Scanner(file);
-            gameStates.clear(); // Clear the stack before loading
-            while (scanner.hasNextLine()) // Read each line from the file NimGameSave.txt and push it onto the stack
-            {
-                String line = scanner.nextLine();
-                gameStates.push(line);
-            }
-            scanner.close(); // Close the scanner
-            if (!gameStates.isEmpty()) // Pop the latest game of 1-2 Nim game state from the stack
-            {
-                String latestState = gameStates.peek(); // Load the game of 1-2 Nim game state
-                String[] parts = latestState.split(","); // Split the state into parts
-
-                marbleSize = Integer.parseInt(parts[0]); // Load the game of Nim 1-2 number of marbles
-                isHumanTurn = parts[1].equals("Human"); // Load the game of Nim 1-2 player's turn
-            } 
-            else 
+            if (!loadGameFrom(fileName))
             {
                 System.out.println("No saved Game of Nim 1-2 found");
             }
@@ -163,57 +447,195 @@ public class NimGame
     }
 
     /**
-     * Undo the last move by restoring the previous game of 1-2 Nim game state from the stack
+     * Loads the latest saved game of 1-2 Nim game state from a file written by saveGame, for callers that handle the error themselves (e.g. LoadTest counts it)
+     * The game is only changed if every game state in the file can be read
+     * @param "fileName" the file to read
+     * @return false if the file has no game states, the game is not changed
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a game state in the file cannot be read
+     */
+    public boolean loadGameFrom(String fileName) throws IOException
+    {
+        List<String> savedStates = new ArrayList<>();
+        try (Scanner scanner = new Scanner(new File(fileName))) // Create a Scanner to read from the file, closed when all lines are read
+        {
+            while (scanner.hasNextLine()) // Read each line from the file NimGameSave.txt
+            {
+                savedStates.add(scanner.nextLine());
+            }
+        }
+        if (savedStates.isEmpty())
+        {
+            return false;
+        }
+        long[] loadedStates = new long[savedStates.size()];
+        for (int i = 0; i < loadedStates.length; i++) // Read every game state first, so a bad line does not leave half a game
+        {
+            try
+            {
+                loadedStates[i] = parseState(savedStates.get(i), i);
+            }
+            catch (RuntimeException e)
+            {
+                throw new IllegalArgumentException("Invalid game state in " + fileName + ": " + savedStates.get(i), e);
+            }
+        }
+
+        int initialMarbleSize = marbleSizeOf(loadedStates[0]); // The first saved game state is the start of the loaded game
+        boolean isHumanFirst = isHumanTurnOf(loadedStates[0]);
+        Snapshot previous;
+        Snapshot next;
+        do // Replace the game and its history with the loaded game states in one step
+        {
+            previous = current.get();
+            next = null;
+            for (int i = 0; i < loadedStates.length; i++)
+            {
+                next = new Snapshot(loadedStates[i], next, nextVersion(previous), initialMarbleSize, isHumanFirst, previous.startTime);
+            }
+        }
+        while (!current.compareAndSet(previous, next));
+        notifyStateListeners(Change.NEW_GAME, 0, next);
+        return true;
+    }
+
+    /**
+     * Undo the last move by restoring the previous game of 1-2 Nim game state from the history
      * Removes the most recent state and sets the game of 1-2 Nim game to the prior game state
      */
     public void undoLastMove() 
     {
-        if (gameStates.size() > 1) // Ensure there is a previous state to undo to
+        Snapshot previous;
+        Snapshot next;
+        do
         {
-            gameStates.pop(); // Remove the most recent the game of 1-2 Nim game state
-            String previousState = gameStates.peek(); // Get the previous game of 1-2 Nim game state
-    
-            String[] parts = previousState.split(","); // Update the game of 1-2 Nim game state
-            marbleSize = Integer.parseInt(parts[0]); // Restore the numer of marbles in game of 1-2 Nim game state
-            isHumanTurn = parts[1].equals("Human"); // Restore player's turn in game of 1-2 Nim game state
-        } 
-        else // Prevent popping/undoing beyond the initial game of 1-2 Nim game state
+            previous = current.get();
+            if (previous.parent == null) // Prevent undoing beyond the initial game of 1-2 Nim game state
+            {
+                System.out.println("No moves to undo");
+                return;
+            }
+            Snapshot restored = previous.parent; // The previous game of 1-2 Nim game state
+            next = new Snapshot(restored.state, restored.parent, nextVersion(previous), restored.initialMarbleSize, restored.isHumanFirst, restored.startTime);
+        }
+        while (!current.compareAndSet(previous, next)); // Retry if a move was played at the same time
+        notifyStateListeners(Change.UNDO, 0, next);
+    }
+
+    /**
+     * Resets computer strategy to the strategy selected by the user (random strategy or your strategy)
+     * Resets the number of marbles and the first player from the configuration
+     * Resets the undo history and the strategy state so no moves of the previous game can be undone
+     * @param "strategyCode" the code of the selected computer strategy, e.g. "R" or "Y"
+     * @return false if no strategy is registered with the code, the game is not reset
+     */
+    public boolean resetGame(String strategyCode) 
+    {
+        if (!StrategyRegistry.contains(strategyCode))
+        {
+            return false; // Invalid input; do nothing
+        }
+
+        MoveStrategy computerStrategy = computerPlayer.getStrategy();
+        if (computerStrategy == null || computerStrategy.getClass() != StrategyRegistry.typeOf(strategyCode)) // Reuse the current strategy if the same strategy is selected again
         {
-            System.out.println("No moves to undo");
+            computerStrategy = StrategyRegistry.create(strategyCode);
         }
+
+        computerPlayer.setStrategy(computerStrategy); // Apply the computer's strategy (Random or Your Strategy)
+        startNewGame(); // Select the number of marbles and who plays first, and clear the undo history
+        return true;
     }
 
     /**
-     * Resets computer strategy to enable user to select random strategy or your strategy 
-     * Resets the number of marbles between minimum 5 to maximum 20 
-     * Resets if player turn selection
+     * Snapshot class is one immutable game state of a game of 1-2 Nim with the game it belongs to, it points to the game state before the last move
+     * A snapshot never changes, so its parts always belong together and it can be read by any thread
      */
-    public void resetGame() 
+    public static final class Snapshot
     {
-        Scanner reader = new Scanner(System.in); // Create a Scanner object to read user input
-    
-        String gameMode = reader.nextLine().toUpperCase();
-        MoveStrategy computerStrategy;
+        private final long state; // The packed game state, see pack()
+        private final Snapshot parent; // The game state before the last move, null for the start of the game
+        private final long version; // Number of changes of the NimGame up to this game state
+        private final int initialMarbleSize; // The number of marbles at the start of the game of 1-2 Nim
+        private final boolean isHumanFirst; // True if the human player played first
+        private final long startTime; // System.nanoTime() when the game of 1-2 Nim started
 
-        if (gameMode.equals("R")) 
+        private Snapshot(long state, Snapshot parent, long version, int initialMarbleSize, boolean isHumanFirst, long startTime)
         {
-            computerStrategy = new RandomStrategy();
-        } 
-        else if (gameMode.equals("Y")) 
+            this.state = state;
+            this.parent = parent;
+            this.version = version;
+            this.initialMarbleSize = initialMarbleSize;
+            this.isHumanFirst = isHumanFirst;
+            this.startTime = startTime;
+        }
+
+        /**
+         * @return the snapshot after a move that removes a number of marbles
+         */
+        private Snapshot afterMove(int removeAmount)
         {
-            computerStrategy = new YourStrategy();
-        } 
-        else 
+            return new Snapshot(pack(marbleSizeOf(state) - removeAmount, !isHumanTurnOf(state), moveNumberOf(state) + 1), this, version + 1, initialMarbleSize, isHumanFirst, startTime);
+        }
+
+        /**
+         * Getter methods
+         * @return the packed game state, read it with marbleSizeOf, isHumanTurnOf and moveNumberOf
+         */
+        public long getState()
         {
-            return; // Invalid input; do nothing
+            return state;
         }
 
-        computerPlayer.setStrategy(computerStrategy); // Apply the computer's strategy (Random or Your Strategy)
-    
-        Random randomMarble = new Random(); // Randomize the number of marbles
-        this.marbleSize = randomMarble.nextInt(16) + 5;
+        /**
+         * Getter methods
+         * @return the number of changes of the NimGame up to this game state
+         */
+        public long getVersion()
+        {
+            return version;
+        }
+
+        /**
+         * Getter methods
+         * @return the number of marbles at the start of the game of 1-2 Nim
+         */
+        public int getInitialMarbleSize()
+        {
+            return initialMarbleSize;
+        }
+
+        /**
+         * Getter methods
+         * @return true if the human player played first
+         */
+        public boolean isHumanFirst()
+        {
+            return isHumanFirst;
+        }
 
-        Random randomPlayer = new Random(); // Randomize who plays first
-        this.isHumanTurn = randomPlayer.nextBoolean();
+        /**
+         * Getter methods
+         * @return the time in nanoseconds since the game of 1-2 Nim started
+         */
+        public long getElapsedTime()
+        {
+            return System.nanoTime() - startTime;
+        }
+
+        /**
+         * Getter methods
+         * @return the game states from the start of the game to this game state, e.g. "12,Human"
+         */
+        public List<String> getHistory()
+        {
+            List<String> history = new ArrayList<>(moveNumberOf(state) + 1);
+            for (Snapshot snapshot = this; snapshot != null; snapshot = snapshot.parent) // Walk back to the start of the game
+            {
+                history.add(marbleSizeOf(snapshot.state) + "," + (isHumanTurnOf(snapshot.state) ? "Human" : "Computer"));
+            }
+            Collections.reverse(history);
+            return history;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,84 @@
+import java.util.ArrayDeque; // Imports the ArrayDeque class to store the games and strategies that are ready to be reused
+import java.util.HashMap; // Imports the HashMap class to keep a separate list of reusable strategies for each strategy type
+import java.util.Map; // Imports the Map interface
+
+/**
+ * @author DarrenCYLo
+ * @version 19/10/2026
+ * NimGamePool class reuses NimGame objects, their players and the computer strategies instead of creating new objects for every game of 1-2 Nim
+ * A game is taken from the pool with acquire, and returned with release when it is finished so the next game can reuse it
+ */
+public class NimGamePool
+{
+    private ArrayDeque<NimGame> idleGames; // Games that are finished and ready to be reused
+    private Map<Class<?>, ArrayDeque<MoveStrategy>> idleStrategies; // Computer strategies that are ready to be reused, grouped by strategy type
+
+    /**
+     * Constructor to create an empty pool, games and strategies are only created when the pool has nothing to reuse
+     */
+    public NimGamePool()
+    {
+        this.idleGames = new ArrayDeque<>(); // Initialise the list of reusable games
+        this.idleStrategies = new HashMap<>(); // Initialise the lists of reusable strategies
+    }
+
+    /**
+     * Takes a game of 1-2 Nim from the pool with the computer strategy set in the GameConfig
+     * @return the game of 1-2 Nim ready to be played
+     */
+    public NimGame acquire()
+    {
+        return acquire(GameConfig.get().getStrategy());
+    }
+
+    /**
+     * Takes a game of 1-2 Nim from the pool, or creates one if the pool is empty, and starts a new game with the selected computer strategy
+     * @param "gameMode" the code of a strategy in the StrategyRegistry, e.g. "R" for random strategy or "Y" for your strategy
+     * @return the game of 1-2 Nim ready to be played
+     * @throws IllegalArgumentException if no strategy is registered with the code
+     */
+    public synchronized NimGame acquire(String gameMode)
+    {
+        MoveStrategy computerStrategy = acquireStrategy(gameMode); // Reuse a computer strategy of the selected type if there is one
+        NimGame game = idleGames.poll(); // Reuse a finished game if there is one
+        if (game == null) // Nothing to reuse, create the game and its players once
+        {
+            return new NimGame(new Player("Human", new HumanUserStrategy()), new Player("Computer", computerStrategy));
+        }
+        game.getComputerPlayer().setStrategy(computerStrategy); // Apply the computer's strategy (Random or Your Strategy)
+        game.startNewGame(); // Clear the state left over from the previous game of 1-2 Nim
+        return game;
+    }
+
+    /**
+     * Returns a finished game of 1-2 Nim and its computer strategy to the pool so they can be reused
+     * The game must not be used after it is released, its state listeners (e.g. a GameBroadcaster) are removed so they do not receive the next game played with it
+     * @param "game" the game of 1-2 Nim that is finished
+     */
+    public synchronized void release(NimGame game)
+    {
+        game.removeStateListeners();
+        MoveStrategy computerStrategy = game.getComputerPlayer().getStrategy();
+        if (computerStrategy != null)
+        {
+            idleStrategies.computeIfAbsent(computerStrategy.getClass(), type -> new ArrayDeque<>()).push(computerStrategy); // Keep the strategy with the other strategies of the same type
+            game.getComputerPlayer().setStrategy(null); // The strategy now belongs to the pool
+        }
+        idleGames.push(game); // Keep the game for the next acquire
+    }
+
+    /**
+     * Takes a computer strategy of the selected type from the pool, or creates one if the pool has none
+     * @param "gameMode" the code of a strategy in the StrategyRegistry
+     * @return the computer strategy
+     */
+    private MoveStrategy acquireStrategy(String gameMode)
+    {
+        ArrayDeque<MoveStrategy> strategies = idleStrategies.get(StrategyRegistry.typeOf(gameMode));
+        if (strategies != null && !strategies.isEmpty())
+        {
+            return strategies.pop(); // Its state is cleared by NimGame.startNewGame
+        }
+        return StrategyRegistry.create(gameMode);
+    }
+}
\ No newline at end of file
@@ -7,21 +7,22 @@ import java.util.Random; // Imports the Random class for random generation
  */
 public class RandomStrategy implements MoveStrategy 
 {
-    private Random random = new Random(); // Random object for generating random numbers
+    private Random random = GameConfig.get().newRandom(); // Random object for generating random numbers, seeded if the configuration has a seed
+    private int[] moves = GameConfig.get().getMoves(); // Numbers of marbles that can be removed in one move (1 or 2 by default)
     
     /**
-     * Method to determine the computer player's move using a random strategy that randomly removes 1 marble or 2 marbles and does not over remove when there is 1 marble remaining
+     * Method to determine the computer player's move using a random strategy that randomly removes one of the configured moves (1 marble or 2 marbles by default) and does not over remove the remaining marbles
      * @param currentPileSize The current number of marbles in the pile.
-     * @return The number of marbles the computer chooses to remove (1 or 2), adjusted if necessary to ensure a valid move.
+     * @return The number of marbles the computer chooses to remove (1 or 2), only moves that fit in the remaining marbles are chosen.
      */
     @Override
     public int NextMove(int currentPileSize) // Add the required parameter
     {
-        int move = random.nextInt(2) + 1; // Randomly choose 1 or 2 marbles
-        if (move > currentPileSize) // Ensure the random marble removal does not over remove the remaining marbles
+        int legalMoves = 0; // Number of configured moves that do not over remove the remaining marbles, the moves are sorted so they come first
+        while (legalMoves < moves.length && moves[legalMoves] <= currentPileSize)
         {
-            move = currentPileSize; // Adjusts marble removal to force only the remaining marble is removed
+            legalMoves++;
         }
-        return move; // Return the valid number of marbles to remove
+        return moves[random.nextInt(Math.max(1, legalMoves))]; // Randomly choose one of them, removing 1 marble is always possible
     }
 }
\ No newline at end of file
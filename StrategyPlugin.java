@@ -0,0 +1,46 @@
+/**
+ * @author DarrenCYLo
+ * @version 19/10/2026
+ * StrategyPlugin interface describes a computer strategy that can be selected in the StrategyRegistry
+ * Plugins in jars on the classpath are found with java.util.ServiceLoader, the jar lists its plugin classes in the file META-INF/services/StrategyPlugin
+ * Plugin classes need a public constructor without parameters and must be in the default package like the rest of the game of 1-2 Nim
+ */
+public interface StrategyPlugin
+{
+    /**
+     * @return the code the user selects the strategy with, e.g. "R"
+     */
+    String getCode();
+
+    /**
+     * @return the name shown to the user, e.g. "Random"
+     */
+    String getName();
+
+    /**
+     * @return the class of the strategy objects created by this plugin
+     */
+    Class<? extends MoveStrategy> getStrategyType();
+
+    /**
+     * @return a new strategy object
+     */
+    MoveStrategy createStrategy();
+
+    /**
+     * Prepares the strategy before the first game of 1-2 Nim, e.g. precomputing tables or running moves so the JIT compiles NextMove
+     * By default it plays the given number of moves on a strategy object that is then thrown away
+     * @param "moves" the number of moves to play
+     */
+    default void warmUp(int moves)
+    {
+        GameConfig config = GameConfig.get();
+        int pileRange = config.getMaxPile() - config.getMinPile() + 1;
+        MoveStrategy strategy = createStrategy();
+        for (int i = 0; i < moves; i++) // Ask for moves over the whole configured range of marbles
+        {
+            strategy.NextMove(config.getMinPile() + i % pileRange);
+        }
+        strategy.reset();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,214 @@
+import java.util.ArrayList; // Imports the ArrayList class to list the strategy codes
+import java.util.Iterator; // Imports the Iterator interface to continue with the next plugin when one cannot be loaded
+import java.util.LinkedHashMap; // Imports the LinkedHashMap class to keep the strategies in the order they are registered
+import java.util.List; // Imports the List interface
+import java.util.Map; // Imports the Map interface
+import java.util.ServiceConfigurationError; // Imports the ServiceConfigurationError class thrown when a plugin cannot be loaded
+import java.util.ServiceLoader; // Imports the ServiceLoader class to find strategy plugins in jars on the classpath
+import java.util.function.Supplier; // Imports the Supplier interface to create new strategy objects
+
+/**
+ * @author DarrenCYLo
+ * @version 19/10/2026
+ * StrategyRegistry class holds the computer strategies that can be selected by code ("R" for random strategy, "Y" for your strategy)
+ * NimGame, NimGamePool, TextBasedUI and GUI create computer strategies through this class instead of checking each code themselves
+ * Besides RandomStrategy, YourStrategy and TablebaseStrategy (when a tablebase file exists), every StrategyPlugin found on the classpath by ServiceLoader is registered
+ */
+public class StrategyRegistry
+{
+    private static final Map<String, StrategyPlugin> STRATEGIES = new LinkedHashMap<>(); // Registered strategies by code
+
+    static
+    {
+        register("R", "Random", RandomStrategy.class, RandomStrategy::new);
+        register("Y", "Your", YourStrategy.class, YourStrategy::new);
+        if (GameConfig.get().getTablebaseFile().exists()) // Only offer the tablebase strategy once a tablebase has been generated
+        {
+            register("T", "Tablebase", TablebaseStrategy.class, TablebaseStrategy::new);
+        }
+        loadPlugins();
+    }
+
+    /**
+     * Registers every StrategyPlugin found on the classpath, a plugin that cannot be loaded, throws or uses a code that is already registered is skipped
+     */
+    private static void loadPlugins()
+    {
+        Iterator<StrategyPlugin> plugins = ServiceLoader.load(StrategyPlugin.class).iterator();
+        while (true)
+        {
+            StrategyPlugin plugin = null;
+            try
+            {
+                if (!plugins.hasNext())
+                {
+                    break;
+                }
+                plugin = plugins.next();
+                register(plugin);
+            }
+            catch (ServiceConfigurationError | RuntimeException e) // Skip this plugin and continue with the next one
+            {
+                System.out.println("An error occurred while loading the strategy plugin " + (plugin == null ? "" : plugin.getClass().getName() + " ") + "(" + e + ")");
+            }
+        }
+    }
+
+    /**
+     * Registers a strategy plugin
+     * @param "plugin" the strategy plugin
+     * @throws IllegalArgumentException if the plugin has no code or name, or a strategy is already registered with its code
+     */
+    public static synchronized void register(StrategyPlugin plugin)
+    {
+        String code = plugin.getCode();
+        if (code == null || code.isBlank() || plugin.getName() == null)
+        {
+            throw new IllegalArgumentException("Strategy plugin " + plugin.getClass().getName() + " has no code or name");
+        }
+        StrategyPlugin registered = STRATEGIES.get(code.toUpperCase());
+        if (registered != null) // Never replace a strategy, e.g. a plugin cannot take the place of "R" or "Y"
+        {
+            throw new IllegalArgumentException("Strategy code " + code.toUpperCase() + " is already used by the " + registered.getName() + " strategy");
+        }
+        STRATEGIES.put(code.toUpperCase(), plugin);
+    }
+
+    /**
+     * Registers a computer strategy
+     * @param "code" the code the user selects the strategy with, e.g. "R"
+     * @param "name" the name shown to the user, e.g. "Random"
+     * @param "type" the class of the strategy objects
+     * @param "factory" creates a new strategy object
+     * @throws IllegalArgumentException if a strategy is already registered with the code
+     */
+    public static <T extends MoveStrategy> void register(String code, String name, Class<T> type, Supplier<T> factory)
+    {
+        register(new StrategyPlugin()
+        {
+            public String getCode()
+            {
+                return code;
+            }
+
+            public String getName()
+            {
+                return name;
+            }
+
+            public Class<? extends MoveStrategy> getStrategyType()
+            {
+                return type;
+            }
+
+            public MoveStrategy createStrategy()
+            {
+                return factory.get();
+            }
+        });
+    }
+
+    /**
+     * Warms up every registered strategy before the first game of 1-2 Nim so the first moves are not played by code the JIT has not compiled yet
+     * A strategy whose warm up throws is reported and the others are still warmed up
+     * @param "moves" the number of moves each strategy plays during the warm up
+     */
+    public static void warmUp(int moves)
+    {
+        List<StrategyPlugin> plugins;
+        synchronized (StrategyRegistry.class)
+        {
+            plugins = new ArrayList<>(STRATEGIES.values()); // Warm up without holding the lock, games can already be created
+        }
+        for (StrategyPlugin plugin : plugins)
+        {
+            try
+            {
+                plugin.warmUp(moves);
+            }
+            catch (RuntimeException e) // Continue with the next strategy, a failed warm up only makes the first moves slower
+            {
+                System.out.println("An error occurred while warming up the strategy plugin " + plugin.getClass().getName() + " (" + e + ")");
+            }
+        }
+    }
+
+    /**
+     * @param "code" the code of a strategy, upper or lower case
+     * @return true if a strategy is registered with the code
+     */
+    public static synchronized boolean contains(String code)
+    {
+        return STRATEGIES.containsKey(code.toUpperCase());
+    }
+
+    /**
+     * Creates a new object of a registered strategy
+     * @param "code" the code of the strategy, upper or lower case
+     * @return the new strategy object
+     * @throws IllegalArgumentException if no strategy is registered with the code
+     */
+    public static MoveStrategy create(String code)
+    {
+        return plugin(code).createStrategy();
+    }
+
+    /**
+     * @param "code" the code of the strategy, upper or lower case
+     * @return the class of the strategy objects
+     * @throws IllegalArgumentException if no strategy is registered with the code
+     */
+    public static Class<? extends MoveStrategy> typeOf(String code)
+    {
+        return plugin(code).getStrategyType();
+    }
+
+    /**
+     * @param "code" the code of the strategy, upper or lower case
+     * @return the name shown to the user, e.g. "Random"
+     * @throws IllegalArgumentException if no strategy is registered with the code
+     */
+    public static String nameOf(String code)
+    {
+        return plugin(code).getName();
+    }
+
+    /**
+     * Finds the name of a strategy object
+     * @param "strategy" the strategy object
+     * @return the name shown to the user, or the class name if the strategy is not registered
+     */
+    public static synchronized String nameOf(MoveStrategy strategy)
+    {
+        for (StrategyPlugin plugin : STRATEGIES.values())
+        {
+            if (plugin.getStrategyType() == strategy.getClass())
+            {
+                return plugin.getName();
+            }
+        }
+        return strategy.getClass().getSimpleName();
+    }
+
+    /**
+     * @return the codes of the registered strategies in the order they were registered
+     */
+    public static synchronized List<String> codes()
+    {
+        return new ArrayList<>(STRATEGIES.keySet());
+    }
+
+    /**
+     * Finds a registered strategy
+     * @throws IllegalArgumentException if no strategy is registered with the code
+     */
+    private static synchronized StrategyPlugin plugin(String code)
+    {
+        StrategyPlugin plugin = STRATEGIES.get(code.toUpperCase());
+        if (plugin == null)
+        {
+            throw new IllegalArgumentException("Unknown computer strategy: " + code);
+        }
+        return plugin;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,241 @@
+import java.io.File; // Imports the File class for the tablebase file
+import java.io.IOException; // Imports the IOException class thrown when the tablebase cannot be read
+import java.nio.ByteBuffer; // Imports the ByteBuffer class to read and write the header
+import java.nio.MappedByteBuffer; // Imports the MappedByteBuffer class to read the distances without loading the file
+import java.nio.channels.FileChannel; // Imports the FileChannel class to memory-map the tablebase file
+import java.nio.file.StandardOpenOption; // Imports the StandardOpenOption enum to open the tablebase file
+import java.util.Arrays; // Imports the Arrays class to compare move sets
+import java.util.concurrent.atomic.AtomicReferenceArray; // Imports the AtomicReferenceArray class so mapped segments can be read by many threads without locking
+
+/**
+ * @author DarrenCYLo
+ * @version 19/10/2026
+ * Tablebase class reads a tablebase file written by TablebaseGenerator
+ * Opening a tablebase only reads its header, the distances are memory-mapped in 1 GB segments the first time a segment is used,
+ * so a multi-GB tablebase does not slow down startup and only the parts that are used are loaded by the operating system
+ * Every lookup is O(1): one or two longs read from the mapped file
+ */
+public class Tablebase
+{
+    private static final int MAGIC = 0x4E494D54; // "NIMT", marks a tablebase file
+    private static final int VERSION = 1; // Version of the file format
+    private static final long SEGMENT_SIZE = 1L << 30; // Bytes of distances mapped at once
+
+    private FileChannel channel; // The open tablebase file
+    private int piles; // Number of piles
+    private int maxPile; // Maximum number of marbles in one pile
+    private int width; // Number of bits per position
+    private int[] moves; // Numbers of marbles that can be removed in one move, smallest first
+    private long dataOffset; // Position of the distances in the file
+    private AtomicReferenceArray<MappedByteBuffer> segments; // Mapped parts of the distances, null until first used
+
+    /**
+     * Constructor to open a tablebase file and read its header
+     * @param "file" the tablebase file
+     * @throws IOException if the file cannot be read or is not a tablebase file
+     */
+    public Tablebase(File file) throws IOException
+    {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try
+        {
+            readHeader(file);
+        }
+        catch (IOException e)
+        {
+            channel.close();
+            throw e;
+        }
+        long dataSize = channel.size() - dataOffset;
+        this.segments = new AtomicReferenceArray<>((int) ((dataSize + SEGMENT_SIZE - 1) / SEGMENT_SIZE));
+    }
+
+    /**
+     * Reads and checks the header, so a damaged or cut off file is rejected here instead of failing a lookup during a game
+     * @throws IOException if the file cannot be read, is not a tablebase file or is shorter than its distances
+     */
+    private void readHeader(File file) throws IOException
+    {
+        ByteBuffer header = ByteBuffer.allocate(24);
+        channel.read(header, 0);
+        header.flip();
+        if (header.remaining() < 24 || header.getInt() != MAGIC || header.getInt() != VERSION)
+        {
+            throw new IOException(file + " is not a tablebase file");
+        }
+        this.piles = header.getInt();
+        this.maxPile = header.getInt();
+        this.width = header.getInt();
+        int moveCount = header.getInt();
+        if (piles < 1 || maxPile < 0 || width < 1 || width > 63 || moveCount < 1 || moveCount > (channel.size() - 24) / 4)
+        {
+            throw new IOException(file + " has an invalid header");
+        }
+        this.moves = new int[moveCount];
+        ByteBuffer moveBuffer = ByteBuffer.allocate(4 * moves.length);
+        channel.read(moveBuffer, 24);
+        moveBuffer.flip();
+        for (int i = 0; i < moves.length; i++)
+        {
+            moves[i] = moveBuffer.getInt();
+        }
+        this.dataOffset = headerSize(moves.length);
+        long positions = 1;
+        for (int i = 0; i < piles; i++)
+        {
+            if (positions > Long.MAX_VALUE / 64 / (maxPile + 1L)) // wordCount must not overflow
+            {
+                throw new IOException(file + " has too many positions");
+            }
+            positions *= maxPile + 1L;
+        }
+        if (channel.size() < dataOffset + wordCount(positions, width) * 8)
+        {
+            throw new IOException(file + " is shorter than its distances");
+        }
+    }
+
+    /**
+     * Getter methods
+     * @return the number of piles
+     */
+    public int getPiles()
+    {
+        return piles;
+    }
+
+    /**
+     * Getter methods
+     * @return the maximum number of marbles in one pile
+     */
+    public int getMaxPile()
+    {
+        return maxPile;
+    }
+
+    /**
+     * @param "moves" numbers of marbles that can be removed in one move, smallest first
+     * @return true if the tablebase was generated for the move set
+     */
+    public boolean hasMoves(int[] moves)
+    {
+        return Arrays.equals(this.moves, moves);
+    }
+
+    /**
+     * Finds the index of a position
+     * @param "position" the number of marbles in each pile, piles that are not given are empty
+     * @return the index of the position
+     */
+    public long index(int... position)
+    {
+        long index = 0;
+        long stride = 1;
+        for (int i = 0; i < position.length; i++)
+        {
+            index += position[i] * stride;
+            stride *= maxPile + 1L;
+        }
+        return index;
+    }
+
+    /**
+     * Looks up the number of moves until the end of the game with best play
+     * @param "index" the index of the position
+     * @return an odd distance if the player to move wins, an even distance if the player to move loses
+     */
+    public long getDistance(long index)
+    {
+        long bit = index * width;
+        long byteOffset = (bit >>> 6) << 3; // The long that contains the first bit
+        int shift = (int) (bit & 63);
+        MappedByteBuffer segment = segment((int) (byteOffset / SEGMENT_SIZE));
+        int offset = (int) (byteOffset % SEGMENT_SIZE);
+        long value = segment.getLong(offset) >>> shift;
+        if (shift + width > 64) // The value continues in the next long
+        {
+            value |= segment.getLong(offset + 8) << (64 - shift);
+        }
+        return value & ((1L << width) - 1);
+    }
+
+    /**
+     * @param "index" the index of the position
+     * @return true if the player to move wins with best play
+     */
+    public boolean isWin(long index)
+    {
+        return (getDistance(index) & 1) == 1;
+    }
+
+    /**
+     * Maps a segment of the distances the first time it is used, a segment overlaps the next one by 16 bytes so a value can always be read from one segment
+     */
+    private MappedByteBuffer segment(int number)
+    {
+        MappedByteBuffer segment = segments.get(number);
+        return segment != null ? segment : mapSegment(number); // Only the first use of a segment takes the lock
+    }
+
+    /**
+     * Maps a segment if no other thread has mapped it yet
+     */
+    private synchronized MappedByteBuffer mapSegment(int number)
+    {
+        if (segments.get(number) == null)
+        {
+            long start = number * SEGMENT_SIZE;
+            try
+            {
+                long size = Math.min(SEGMENT_SIZE + 16, channel.size() - dataOffset - start);
+                segments.set(number, channel.map(FileChannel.MapMode.READ_ONLY, dataOffset + start, size));
+            }
+            catch (IOException e)
+            {
+                throw new IllegalStateException("The tablebase cannot be read", e);
+            }
+        }
+        return segments.get(number);
+    }
+
+    /**
+     * @return the number of bits needed for the distances of a tablebase
+     */
+    static int widthFor(int piles, int maxPile)
+    {
+        return Math.max(1, 64 - Long.numberOfLeadingZeros((long) piles * maxPile)); // A game takes at most one move per marble
+    }
+
+    /**
+     * @return the number of longs of distances, with one extra long so the last value can always be read with two longs
+     */
+    static long wordCount(long positions, int width)
+    {
+        return (positions * width + 63) / 64 + 1;
+    }
+
+    /**
+     * @return the size of the header, rounded up to a multiple of 8 bytes
+     */
+    private static long headerSize(int moveCount)
+    {
+        return (24 + 4L * moveCount + 7) / 8 * 8;
+    }
+
+    /**
+     * Creates the header of a tablebase file
+     * @return the header ready to be written
+     */
+    static ByteBuffer header(int piles, int maxPile, int width, int[] moves)
+    {
+        ByteBuffer header = ByteBuffer.allocate((int) headerSize(moves.length));
+        header.putInt(MAGIC).putInt(VERSION).putInt(piles).putInt(maxPile).putInt(width).putInt(moves.length);
+        for (int move : moves)
+        {
+            header.putInt(move);
+        }
+        header.position(header.capacity()); // Include the padding
+        header.flip();
+        return header;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,233 @@
+import java.io.File; // Imports the File class for the tablebase file
+import java.io.IOException; // Imports the IOException class thrown when the tablebase cannot be written
+import java.nio.ByteBuffer; // Imports the ByteBuffer class to write the tablebase in chunks
+import java.nio.channels.FileChannel; // Imports the FileChannel class to write the tablebase
+import java.nio.file.StandardOpenOption; // Imports the StandardOpenOption enum to create the tablebase file
+import java.util.concurrent.atomic.AtomicLongArray; // Imports the AtomicLongArray class so positions can be stored by many threads at the same time
+import java.util.stream.IntStream; // Imports the IntStream class to solve the positions of a layer in parallel
+
+/**
+ * @author DarrenCYLo
+ * @version 19/10/2026
+ * TablebaseGenerator class solves every position of a game of Nim with the configured move set by retrograde analysis and writes a Tablebase file
+ * A position is one or more piles of at most maxPile marbles, a move removes one of the configured numbers of marbles from one pile and the player who takes the last marble wins
+ * For every position the number of moves until the end of the game with best play is stored: odd for a win of the player to move (fastest win),
+ * even for a loss (slowest loss), 0 when there are no marbles left
+ * Positions are solved in layers of the same total number of marbles, every move goes to a smaller layer so the positions of one layer are solved in parallel on all cores
+ */
+public class TablebaseGenerator
+{
+    private int piles; // Number of piles
+    private int maxPile; // Maximum number of marbles in one pile
+    private int[] moves; // Numbers of marbles that can be removed in one move, smallest first
+    private int width; // Number of bits per position
+    private long[] strides; // Index step of one marble in each pile
+    private AtomicLongArray words; // The bit-packed distances of every position
+
+    /**
+     * Constructor to set up the generator
+     * @param "piles" the number of piles
+     * @param "maxPile" the maximum number of marbles in one pile
+     * @param "moves" the numbers of marbles that can be removed in one move, smallest first
+     * @throws IllegalArgumentException if the tablebase is too large to generate in memory
+     */
+    public TablebaseGenerator(int piles, int maxPile, int[] moves)
+    {
+        this.piles = piles;
+        this.maxPile = maxPile;
+        this.moves = moves.clone();
+        this.width = Tablebase.widthFor(piles, maxPile);
+        this.strides = new long[piles];
+        long positions = 1;
+        for (int i = 0; i < piles; i++)
+        {
+            strides[i] = positions;
+            positions = Math.multiplyExact(positions, maxPile + 1L);
+        }
+        long wordCount = Tablebase.wordCount(positions, width);
+        if (wordCount > Integer.MAX_VALUE - 8)
+        {
+            throw new IllegalArgumentException("Tablebase of " + positions + " positions is too large to generate in memory");
+        }
+        this.words = new AtomicLongArray((int) wordCount);
+    }
+
+    /**
+     * Solves every position, one layer of the same total number of marbles after another
+     */
+    public void generate()
+    {
+        for (int total = 0; total <= piles * maxPile; total++)
+        {
+            int layer = total;
+            if (piles == 1) // A layer of one pile is one position, solve it without the parallel stream overhead
+            {
+                solve(new int[] {layer}, layer);
+                continue;
+            }
+            IntStream.rangeClosed(Math.max(0, layer - (piles - 1) * maxPile), Math.min(maxPile, layer)).parallel()
+                .forEach(first -> // Split the layer by the number of marbles in the first pile
+                {
+                    int[] position = new int[piles];
+                    position[0] = first;
+                    enumerate(position, 1, layer - first, first);
+                });
+        }
+    }
+
+    /**
+     * Solves every position that has the given marbles in the piles before "pile" and "remaining" marbles in the other piles
+     */
+    private void enumerate(int[] position, int pile, int remaining, long index)
+    {
+        if (pile == piles - 1) // Last pile takes the remaining marbles
+        {
+            position[pile] = remaining;
+            solve(position, index + remaining * strides[pile]);
+            return;
+        }
+        for (int marbles = Math.max(0, remaining - (piles - 1 - pile) * maxPile); marbles <= Math.min(maxPile, remaining); marbles++)
+        {
+            position[pile] = marbles;
+            enumerate(position, pile + 1, remaining - marbles, index + marbles * strides[pile]);
+        }
+    }
+
+    /**
+     * Solves one position from the positions it can move to, which are all solved already
+     * @param "position" the number of marbles in each pile
+     * @param "index" the index of the position
+     */
+    private void solve(int[] position, long index)
+    {
+        long fastestWin = Long.MAX_VALUE; // Shortest distance through a move to a lost position
+        long slowestLoss = -1; // Longest distance through a move to a won position
+        for (int pile = 0; pile < piles; pile++)
+        {
+            for (int move : moves)
+            {
+                if (move > position[pile]) // Moves are sorted, the larger moves do not fit either
+                {
+                    break;
+                }
+                long distance = get(index - move * strides[pile]);
+                if ((distance & 1) == 0) // The move leaves the other player in a lost position
+                {
+                    fastestWin = Math.min(fastestWin, distance + 1);
+                }
+                else
+                {
+                    slowestLoss = Math.max(slowestLoss, distance + 1);
+                }
+            }
+        }
+        set(index, fastestWin != Long.MAX_VALUE ? fastestWin : Math.max(0, slowestLoss)); // No moves left means the game has ended, distance 0
+    }
+
+    /**
+     * @return the distance of a solved position
+     */
+    private long get(long index)
+    {
+        long bit = index * width;
+        int word = (int) (bit >>> 6);
+        int shift = (int) (bit & 63);
+        long value = words.get(word) >>> shift;
+        if (shift + width > 64) // The value continues in the next word
+        {
+            value |= words.get(word + 1) << (64 - shift);
+        }
+        return value & ((1L << width) - 1);
+    }
+
+    /**
+     * Stores the distance of a position, positions next to each other can share a word and are stored by different threads, so words are updated with compare and set
+     */
+    private void set(long index, long distance)
+    {
+        long bit = index * width;
+        int word = (int) (bit >>> 6);
+        int shift = (int) (bit & 63);
+        long mask = (1L << width) - 1;
+        update(word, mask << shift, distance << shift);
+        if (shift + width > 64)
+        {
+            update(word + 1, mask >>> (64 - shift), distance >>> (64 - shift));
+        }
+    }
+
+    /**
+     * Replaces the bits of a word that are in the mask
+     */
+    private void update(int word, long mask, long bits)
+    {
+        long current;
+        do
+        {
+            current = words.get(word);
+        }
+        while (!words.compareAndSet(word, current, (current & ~mask) | (bits & mask)));
+    }
+
+    /**
+     * Writes the tablebase file: the header followed by the bit-packed distances
+     * @param "file" the tablebase file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(File file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+        {
+            ByteBuffer header = Tablebase.header(piles, maxPile, width, moves);
+            while (header.hasRemaining())
+            {
+                channel.write(header);
+            }
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+            for (int i = 0; i < words.length(); i++)
+            {
+                if (!buffer.hasRemaining())
+                {
+                    writeBuffer(channel, buffer);
+                }
+                buffer.putLong(words.get(i));
+            }
+            writeBuffer(channel, buffer);
+        }
+    }
+
+    /**
+     * Writes and clears a buffer
+     */
+    private static void writeBuffer(FileChannel channel, ByteBuffer buffer) throws IOException
+    {
+        buffer.flip();
+        while (buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Method to generate a tablebase for the move set in the GameConfig
+     * @param args maximum number of marbles in one pile, number of piles (1 if not given) and the tablebase file (the file in the GameConfig if not given)
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length < 1)
+        {
+            System.out.println("Usage: java TablebaseGenerator maxPile [piles] [file]");
+            return;
+        }
+        int maxPile = Integer.parseInt(args[0]);
+        int piles = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        File file = args.length > 2 ? new File(args[2]) : GameConfig.get().getTablebaseFile();
+
+        long start = System.nanoTime();
+        TablebaseGenerator generator = new TablebaseGenerator(piles, maxPile, GameConfig.get().getMoves());
+        generator.generate();
+        generator.write(file);
+        System.out.println("Wrote " + file + " (" + piles + " piles of up to " + maxPile + " marbles, moves " + GameConfig.get().describeMoves() + ") in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+}
\ No newline at end of file
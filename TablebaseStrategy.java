@@ -0,0 +1,87 @@
+/**
+ * @author DarrenCYLo
+ * @version 19/10/2026
+ * TablebaseStrategy class handles the MoveStrategy interface for a computer player that plays perfectly by looking up every move in the Tablebase
+ * In a won position it takes the fastest win, in a lost position it takes the slowest loss so the human player has the most chances to go wrong
+ * The tablebase file is opened the first time a move is needed and shared by every TablebaseStrategy
+ */
+public class TablebaseStrategy implements MoveStrategy
+{
+    private static volatile Tablebase tablebase; // The shared tablebase, null until the first move
+    private static volatile boolean unavailable; // True if the tablebase cannot be used, moves then fall back to removing 1 marble
+
+    private int[] moves = GameConfig.get().getMoves(); // Numbers of marbles that can be removed in one move (1 or 2 by default)
+
+    /**
+     * Method to determine the computer player's move from the tablebase
+     * Falls back to removing the smallest move if the tablebase is missing, was generated for another move set or is too small for the number of marbles
+     * @param "currentPileSize" the current number of marbles
+     * @return the number of marbles the computer player removes
+     */
+    @Override
+    public int NextMove(int currentPileSize)
+    {
+        Tablebase table = tablebase();
+        if (table == null || currentPileSize > table.getMaxPile())
+        {
+            return Math.min(moves[0], currentPileSize);
+        }
+
+        boolean winning = table.isWin(currentPileSize); // The single pile is the first pile, the other piles of the tablebase are empty
+        int bestMove = moves[0];
+        long bestDistance = winning ? Long.MAX_VALUE : -1;
+        for (int move : moves)
+        {
+            if (move > currentPileSize)
+            {
+                break;
+            }
+            long distance = table.getDistance(currentPileSize - move);
+            if (winning ? (distance & 1) == 0 && distance < bestDistance : distance > bestDistance) // Fastest move to a lost position, or slowest loss
+            {
+                bestMove = move;
+                bestDistance = distance;
+            }
+        }
+        return Math.min(bestMove, currentPileSize);
+    }
+
+    /**
+     * Opens the tablebase file set in the GameConfig the first time it is needed
+     * @return the tablebase, or null if it cannot be used
+     */
+    private static Tablebase tablebase()
+    {
+        Tablebase table = tablebase;
+        if (table != null || unavailable)
+        {
+            return table;
+        }
+        synchronized (TablebaseStrategy.class)
+        {
+            if (tablebase == null && !unavailable)
+            {
+                GameConfig config = GameConfig.get();
+                try
+                {
+                    Tablebase opened = new Tablebase(config.getTablebaseFile());
+                    if (opened.hasMoves(config.getMoves()))
+                    {
+                        tablebase = opened;
+                    }
+                    else
+                    {
+                        System.out.println("The tablebase " + config.getTablebaseFile() + " was generated for another move set");
+                        unavailable = true;
+                    }
+                }
+                catch (Exception e)
+                {
+                    System.out.println("An error occurred while opening the tablebase " + config.getTablebaseFile());
+                    unavailable = true;
+                }
+            }
+            return tablebase;
+        }
+    }
+}
\ No newline at end of file
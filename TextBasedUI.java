@@ -21,28 +21,16 @@ public class TextBasedUI
         
         System.out.println("The Game of 1-2 Nim Assessment!");
         System.out.println("------------------------------");
-        System.out.println("Choose a computer strategy:");
-        System.out.println("[R] Random\n" +
-                           "[Y] Your Strategy");
-
-        String gameMode = reader.nextLine().toUpperCase(); // Reads the user's input strategy choice (Random Strategy or Computer Strategy)
-        MoveStrategy computerStrategy; // The strategy (Random Strategy or Computer Strategy) to be used by the computer payer)
+        displayStrategies(); // Show the registered computer strategies
 
-        if (gameMode.equals("R")) 
+        String gameMode = readStrategyCode(); // Reads the user's input strategy choice (Random Strategy or Computer Strategy)
+        if (!StrategyRegistry.contains(gameMode)) 
         {
-            computerStrategy = new RandomStrategy(); // Random Strategy is played if user selects "R" Random Strategy
-            System.out.println("You selected Random Computer strategy.");
-        } 
-        else if (gameMode.equals("Y")) 
-        {
-            computerStrategy = new YourStrategy(); // Your Strategy is played if user selects "Y" Your Strategy 
-            System.out.println("You selected Your Computer strategy.");
-        } 
-        else 
-        {
-            System.out.println("Invalid option. Exiting."); // Exits the game of 1-2 Nim if the user input is invalid (user must inputer "R" of "Y")
+            System.out.println("Invalid option. Exiting."); // Exits the game of 1-2 Nim if the user input is invalid (user must input a registered strategy code, "R" or "Y")
             return;
         }
+        MoveStrategy computerStrategy = StrategyRegistry.create(gameMode); // The strategy (Random Strategy or Your Strategy) to be used by the computer payer
+        System.out.println("You selected " + StrategyRegistry.nameOf(gameMode) + " Computer strategy.");
 
         Player player1 = new Player("Human", new HumanUserStrategy()); // Create human player
         Player player2 = new Player("Computer", computerStrategy); // Create computer player
@@ -51,6 +39,28 @@ public class TextBasedUI
         startGame(); // Start the game of 1-2 Nim loop
     }
 
+    /**
+     * Displays the registered computer strategies the user can choose from
+     */
+    private void displayStrategies()
+    {
+        System.out.println("Choose a computer strategy:");
+        for (String code : StrategyRegistry.codes())
+        {
+            System.out.println("[" + code + "] " + StrategyRegistry.nameOf(code) + " Strategy");
+        }
+    }
+
+    /**
+     * Reads the user's strategy choice, an empty line selects the strategy set in the GameConfig
+     * @return the strategy code in upper case
+     */
+    private String readStrategyCode()
+    {
+        String gameMode = reader.nextLine().trim().toUpperCase();
+        return gameMode.isEmpty() ? GameConfig.get().getStrategy() : gameMode;
+    }
+
     /**
      * Starts the game of 1-2 Nim and manages the human player's and computer player's turn
      */
@@ -115,20 +125,15 @@ public class TextBasedUI
             case "C":
                 System.out.println("The Game of 1-2 Nim has been reset!");
                 System.out.println("------------------------------");
-                System.out.println("Choose a computer strategy:");
-                System.out.println("[R] Random\n" +
-                                   "[Y] Your Strategy");
+                displayStrategies(); // Show the registered computer strategies
 
-                game.resetGame(); // "C" handles "Clear game" (reset)
-                
-                if (game.getComputerPlayer().getStrategy() instanceof RandomStrategy) 
+                if (!game.resetGame(readStrategyCode())) // "C" handles "Clear game" (reset)
                 {
-                System.out.println("You selected Random Computer strategy.");
-                } 
-                else 
-                {
-                System.out.println("You selected Your Computer strategy.");
+                    System.out.println("Invalid option. The game was not reset.");
+                    break;
                 }
+                
+                System.out.println("You selected " + StrategyRegistry.nameOf(game.getComputerPlayer().getStrategy()) + " Computer strategy.");
                 System.out.println(" ");
                 
                 System.out.println(game.isHumanTurn() ? "First turn: Human Player" : "First turn: Computer Player");
@@ -204,6 +209,28 @@ public class TextBasedUI
         else
             winnerName = game.getHumanPlayer().getName(); //Human player Wins
         System.out.println("*** " + winnerName + " is the winner! ***");
+        recordResult(); // Keep the result for analysis
+    }
+
+    /**
+     * Records the finished game of 1-2 Nim in the game result store set in the GameConfig ("NimGameResults" by default)
+     */
+    private void recordResult()
+    {
+        if (!GameConfig.get().isRecordingResults()) // Persistence is set to "none"
+        {
+            return;
+        }
+        try
+        {
+            GameResultStore resultStore = new GameResultStore(GameConfig.get().getResultsDirectory()); // The text-based UI plays one game, so the store is only opened here
+            resultStore.record(game);
+            resultStore.close(); // Write the result to the column files
+        }
+        catch (Exception e)
+        {
+            System.out.println("An error occurred while recording the game result");
+        }
     }
 
     /**
@@ -211,6 +238,7 @@ public class TextBasedUI
      */
     public static void main(String[] args) 
     {
+        StrategyRegistry.warmUp(GameConfig.get().getWarmUpMoves()); // Warm up the computer strategies if set in the GameConfig
         TextBasedUI textUi = new TextBasedUI(); // Start the game of 1-2 Nim
     }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@
 public class YourStrategy implements MoveStrategy 
 {
     private int counter = 0; // Counter to alternate between 1 marble removal or 2 marbles removal
+    private int[] moves = GameConfig.get().getMoves(); // Numbers of marbles that can be removed in one move (1 or 2 by default), removed in turn
 
     /**
      * Parameterised constructor to determines the computer player's move using yur strategy that is remove 1 marble removal, then 2 marbles removal and the cycle repeats and adjusted to not over remove when there is 1 marble remaining
@@ -15,21 +16,21 @@ public class YourStrategy implements MoveStrategy
     @Override
     public int NextMove(int currentPileSize) // Add the required parameter
     {
-        int move; // Variable to store the number of marbles to remove
-        if (counter == 0) // Alternate marble removal based on the counter value.
+        int move = moves[counter]; // Alternate marble removal based on the counter value, 1 marble and then 2 marbles with the default moves
+        counter = (counter + 1) % moves.length; // Update counter for the next turn
+        for (int i = moves.length - 1; move > currentPileSize && i >= 0; i--) // Ensure the alternating 1 marble and 2 marbles removal does not over remove the remaining marbles
         {
-            move = 1; // Your strategy computer player remove 1 marble on this turn
-            counter = 1; // Update counter for the next turn
-        } 
-        else 
-        {
-            move = 2; // Your strategy computer player remove 2 marbles on this turn
-            counter = 0; // Update counter for the next turn
-        }
-        if (move > currentPileSize) // Ensure the alternating 1 marble and 2 marbles removal does not over remove the remaining marbles
-        {
-            move = currentPileSize; // Adjusts marble removal to force only the remaining marble is removed
+            move = moves[i]; // Adjusts marble removal to the largest configured move that fits, removing 1 marble is always possible
         }
         return move; // Return the valid number of marbles to remove
     }
+
+    /**
+     * Resets the counter so a reused YourStrategy starts again with 1 marble removal in the next game of 1-2 Nim
+     */
+    @Override
+    public void reset()
+    {
+        counter = 0; // Next move removes 1 marble
+    }
 }
\ No newline at end of file